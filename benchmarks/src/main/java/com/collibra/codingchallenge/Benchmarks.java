@@ -0,0 +1,24 @@
+package com.collibra.codingchallenge;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public final class Benchmarks {
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final List<String> options = new ArrayList<>(asList(args));
+        if (!options.contains("-prof")) {
+            options.addAll(asList("-prof", "gc"));
+        }
+        if (!options.contains("-rf")) {
+            options.addAll(asList("-rf", "json"));
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,73 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.*;
+import com.collibra.codingchallenge.graphs.GraphGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.collibra.codingchallenge.graphs.GraphGenerator.name;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphManagerBenchmark {
+
+    @Param({"LOCKING", "SNAPSHOT", "COMPACT"})
+    private String mode;
+
+    @Param("0")
+    private int cacheSize;
+
+    @Param("1000")
+    private int nodes;
+
+    @Param("4")
+    private int degree;
+
+    private GraphManager manager;
+
+    @Setup
+    public void setUp() {
+        manager = new GraphManager(GraphMode.of(mode), cacheSize, 0);
+        GraphGenerator.random(nodes, degree, node -> manager.handle(new AddNode(node)),
+                (start, end, weight) -> manager.handle(new AddEdge(start, end, weight)));
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+    }
+
+    @Benchmark
+    public String shortestPath(final Client client) {
+        return manager.handle(new ShortestPath(name(client.random.nextInt(nodes)), name(client.random.nextInt(nodes))));
+    }
+
+    @Benchmark
+    public String closerThan(final Client client) {
+        return manager.handle(new CloserThan(50, name(client.random.nextInt(nodes))));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public String mixedQuery(final Client client) {
+        return shortestPath(client);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public String mixedMutation(final Client client) {
+        final String extra = "extra-" + client.random.nextInt(nodes);
+        manager.handle(new AddNode(extra));
+        manager.handle(new AddEdge(name(client.random.nextInt(nodes)), extra, 1 + client.random.nextInt(100)));
+        return manager.handle(new RemoveNode(extra));
+    }
+}
@@ -0,0 +1,139 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.GraphCommand;
+import com.collibra.codingchallenge.parsing.GraphCommandParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolBenchmark {
+
+    private static final LongAdder WRITES = new LongAdder();
+
+    @Param({"false", "true"})
+    private boolean pipelined;
+
+    @Param("1000")
+    private int batch;
+
+    private ServerSocket server;
+    private Thread handler;
+    private Socket socket;
+    private BufferedReader reader;
+    private Writer writer;
+    private String requests;
+
+    @Setup
+    public void setUp() throws IOException {
+        final GraphManager manager = new GraphManager(GraphMode.LOCKING, 0, 0);
+        manager.handle(GraphCommandParser.parse("ADD NODE a").get());
+        manager.handle(GraphCommandParser.parse("ADD NODE b").get());
+        manager.handle(GraphCommandParser.parse("ADD EDGE a b 7").get());
+        server = new CountingServerSocket();
+        handler = new Thread(() -> serve(manager));
+        handler.start();
+        socket = new Socket("localhost", server.getLocalPort());
+        reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+        writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
+        reader.readLine();
+        writer.write("HI, I'M bench\n");
+        writer.flush();
+        reader.readLine();
+        final StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < batch; i++) {
+            lines.append("SHORTEST PATH a b\n");
+        }
+        requests = lines.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        writer.write("BYE MATE!\n");
+        writer.flush();
+        reader.readLine();
+        socket.close();
+        handler.join();
+        server.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Syscalls {
+
+        public long writes;
+    }
+
+    @Benchmark
+    public String roundTrip(final Syscalls syscalls) throws IOException {
+        final long before = WRITES.sum();
+        writer.write(requests);
+        writer.flush();
+        String last = null;
+        for (int i = 0; i < batch; i++) {
+            last = reader.readLine();
+        }
+        syscalls.writes += WRITES.sum() - before;
+        return last;
+    }
+
+    private void serve(final GraphManager manager) {
+        try (final Protocol protocol = new Protocol(server.accept(), pipelined)) {
+            protocol.initialize();
+            protocol.exchangeFormalities();
+            for (final CharSequence request : protocol.requests()) {
+                final Optional<GraphCommand> command = GraphCommandParser.parse(request);
+                if (command.isPresent()) {
+                    protocol.respond(manager.handle(command.get()));
+                } else {
+                    protocol.notSupportedCommand();
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class CountingServerSocket extends ServerSocket {
+
+        private CountingServerSocket() throws IOException {
+            super(0);
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            final Socket socket = new CountingSocket();
+            implAccept(socket);
+            return socket;
+        }
+    }
+
+    private static final class CountingSocket extends Socket {
+
+        private OutputStream output;
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new FilterOutputStream(super.getOutputStream()) {
+                    @Override
+                    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                        WRITES.increment();
+                        out.write(bytes, offset, length);
+                    }
+                };
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.collibra.codingchallenge.graphs;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.collibra.codingchallenge.graphs.GraphGenerator.name;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class DeltaSteppingBenchmark {
+
+    @Param({"dijkstra", "delta-stepping"})
+    private String engine;
+
+    @Param({"100000", "1000000"})
+    private int nodes;
+
+    @Param("4")
+    private int degree;
+
+    private CompactGraph graph;
+
+    @Setup
+    public void setUp() {
+        graph = (CompactGraph) GraphGenerator.graph("compact", "random", nodes, degree);
+    }
+
+    @State(Scope.Thread)
+    public static class Query {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+        private int start;
+        private int end;
+
+        @Setup(Level.Invocation)
+        public void next(final DeltaSteppingBenchmark benchmark) {
+            start = benchmark.graph.id(name(random.nextInt(benchmark.nodes)));
+            end = benchmark.graph.id(name(random.nextInt(benchmark.nodes)));
+        }
+    }
+
+    @Benchmark
+    public long distance(final Query query) {
+        return "dijkstra".equals(engine)
+                ? Dijkstra.scratch().distance(graph, query.start, query.end)
+                : DeltaStepping.scratch().distance(graph, query.start, query.end);
+    }
+}
@@ -0,0 +1,95 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+public final class GraphGenerator {
+
+    public static final long SEED = 42;
+    public static final int MAX_WEIGHT = 100;
+
+    public interface EdgeSink {
+
+        void edge(String start, String end, int weight);
+    }
+
+    public static Graph<Node, Edge> graph(final String backend, final String shape, final int nodes, final int degree) {
+        final Graph<Node, Edge> graph = empty(backend);
+        generate(shape, nodes, degree, node -> GraphOps.addNode(graph, node),
+                (start, end, weight) -> GraphOps.addEdge(graph, weight, start, end));
+        return graph;
+    }
+
+    public static Graph<Node, Edge> empty(final String backend) {
+        switch (backend) {
+            case "jung":
+                return GraphOps.graph();
+            case "persistent":
+                return GraphOps.persistentGraph();
+            case "compact":
+                return GraphOps.compactGraph();
+            default:
+                throw new IllegalArgumentException("Unknown backend - " + backend);
+        }
+    }
+
+    public static void generate(final String shape, final int nodes, final int degree,
+                                final Consumer<String> node, final EdgeSink edge) {
+        switch (shape) {
+            case "random":
+                random(nodes, degree, node, edge);
+                break;
+            case "grid":
+                grid(nodes, node, edge);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape - " + shape);
+        }
+    }
+
+    public static void random(final int nodes, final int degree, final Consumer<String> node, final EdgeSink edge) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < nodes; i++) {
+            node.accept(name(i));
+        }
+        for (long i = 0; i < (long) nodes * degree; i++) {
+            edge.edge(name(random.nextInt(nodes)), name(random.nextInt(nodes)), weight(random));
+        }
+    }
+
+    public static void grid(final int nodes, final Consumer<String> node, final EdgeSink edge) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int side = Math.max(1, (int) Math.sqrt(nodes));
+        for (int i = 0; i < nodes; i++) {
+            node.accept(name(i));
+        }
+        for (int i = 0; i < nodes; i++) {
+            if (i % side + 1 < side && i + 1 < nodes) {
+                edge.edge(name(i), name(i + 1), weight(random));
+                edge.edge(name(i + 1), name(i), weight(random));
+            }
+            if (i + side < nodes) {
+                edge.edge(name(i), name(i + side), weight(random));
+                edge.edge(name(i + side), name(i), weight(random));
+            }
+        }
+    }
+
+    public static String name(final int i) {
+        return "node-" + i;
+    }
+
+    public static String[] names(final int nodes) {
+        final String[] names = new String[nodes];
+        for (int i = 0; i < nodes; i++) {
+            names[i] = name(i);
+        }
+        return names;
+    }
+
+    private static int weight(final SplittableRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class GraphOpsBenchmark {
+
+    private static final String EXTRA = "extra";
+
+    @Param({"jung", "persistent", "compact"})
+    private String backend;
+
+    @Param({"1000", "100000"})
+    private int nodes;
+
+    @Param({"2", "8"})
+    private int degree;
+
+    private Graph<Node, Edge> graph;
+    private String[] names;
+    private String[] extras;
+
+    @Setup
+    public void setUp() {
+        graph = GraphGenerator.graph(backend, "random", nodes, degree);
+        GraphOps.addNode(graph, EXTRA);
+        names = GraphGenerator.names(nodes);
+        extras = Arrays.stream(names).map(name -> name + "-" + EXTRA).toArray(String[]::new);
+    }
+
+    @State(Scope.Thread)
+    public static class Pick {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+        private String start;
+        private String end;
+        private String extra;
+
+        @Setup(Level.Invocation)
+        public void next(final GraphOpsBenchmark benchmark) {
+            final int picked = random.nextInt(benchmark.nodes);
+            start = benchmark.names[picked];
+            extra = benchmark.extras[picked];
+            end = benchmark.names[random.nextInt(benchmark.nodes)];
+        }
+    }
+
+    @Benchmark
+    public boolean addAndRemoveNode(final Pick pick) {
+        GraphOps.addNode(graph, pick.extra);
+        return GraphOps.removeNode(graph, pick.extra);
+    }
+
+    @Benchmark
+    public boolean addAndRemoveEdge(final Pick pick) {
+        GraphOps.addEdge(graph, 1, pick.start, EXTRA);
+        return GraphOps.removeEdge(graph, pick.start, EXTRA);
+    }
+
+    @Benchmark
+    public boolean containsNode(final Pick pick) {
+        return GraphOps.containsNode(graph, pick.start);
+    }
+
+    @Benchmark
+    public Optional<Integer> shortestPath(final Pick pick) {
+        return GraphOps.shortestPath(graph, pick.start, pick.end);
+    }
+
+    @Benchmark
+    public Optional<List<String>> closerThan(final Pick pick) {
+        return GraphOps.closerThan(graph, GraphGenerator.MAX_WEIGHT, pick.start);
+    }
+}
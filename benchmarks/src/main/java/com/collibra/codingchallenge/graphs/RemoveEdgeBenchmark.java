@@ -0,0 +1,61 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RemoveEdgeBenchmark {
+
+    @Param({"jung", "persistent"})
+    private String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    private int edges;
+
+    @Param("4")
+    private int degree;
+
+    private Graph<Node, Edge> graph;
+    private Edge[] added;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = GraphGenerator.empty(backend);
+        added = new Edge[edges];
+        GraphGenerator.random(Math.max(1, edges / degree), degree, node -> GraphOps.addNode(graph, node), (start, end, weight) -> {
+            added[next++] = GraphOps.edge(weight, start, end);
+            GraphOps.addEdge(graph, weight, start, end);
+        });
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean outEdges() {
+        final Edge edge = added[next++ % added.length];
+        final boolean removed = GraphOps.removeEdge(graph, edge.start, edge.end);
+        GraphOps.addEdge(graph, edge.weight, edge.start, edge.end);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean allEdges() {
+        final Edge edge = added[next++ % added.length];
+        final List<Edge> between = graph.getEdges().stream().filter(
+                e -> e.start.equals(edge.start) && e.end.equals(edge.end)
+        ).collect(toList());
+        between.forEach(graph::removeEdge);
+        GraphOps.addEdge(graph, edge.weight, edge.start, edge.end);
+        return !between.isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ShortestPathBenchmark {
+
+    @Param({"jung", "compact", "landmarks", "hierarchy"})
+    private String engine;
+
+    @Param({"random", "grid"})
+    private String shape;
+
+    @Param({"1000", "100000"})
+    private int nodes;
+
+    @Param("4")
+    private int degree;
+
+    private Graph<Node, Edge> graph;
+    private GraphIndex index;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        names = GraphGenerator.names(nodes);
+        graph = GraphGenerator.graph("jung".equals(engine) ? "jung" : "compact", shape, nodes, degree);
+        if ("landmarks".equals(engine)) {
+            index = Landmarks.prepare((CompactGraph) graph, 8).get();
+        } else if ("hierarchy".equals(engine)) {
+            index = ContractionHierarchy.prepare((CompactGraph) graph).get();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Query {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+        private String start;
+        private String end;
+
+        @Setup(Level.Invocation)
+        public void next(final ShortestPathBenchmark benchmark) {
+            start = benchmark.names[random.nextInt(benchmark.nodes)];
+            end = benchmark.names[random.nextInt(benchmark.nodes)];
+        }
+    }
+
+    @Benchmark
+    public Optional<Integer> shortestPath(final Query query) {
+        return GraphOps.shortestPath(graph, query.start, query.end, index);
+    }
+}
@@ -0,0 +1,56 @@
+package com.collibra.codingchallenge.parsing;
+
+import com.collibra.codingchallenge.commands.GraphCommand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.collibra.codingchallenge.parsing.Regex.*;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphCommandParserBenchmark {
+
+    private static final Pattern[] PATTERNS = Stream.of(
+            "ADD" + s + "NODE" + s + NODE,
+            "ADD" + s + "EDGE" + s + NODE + s + NODE + s + WEIGHT,
+            "REMOVE" + s + "NODE" + s + NODE,
+            "REMOVE" + s + "EDGE" + s + NODE + s + NODE,
+            "SHORTEST" + s + "PATH" + s + NODE + s + NODE,
+            "CLOSER" + s + "THAN" + s + WEIGHT + s + NODE
+    ).map(command -> Pattern.compile(s + command + s, CASE_INSENSITIVE)).toArray(Pattern[]::new);
+
+    @Param({
+            "ADD NODE 96c2a169-2dc5-4f23-831b-5d7be4d30129",
+            "ADD EDGE Phase2-Node-1 Phase2-Node-2 23",
+            "REMOVE NODE Phase2-Node-1",
+            "REMOVE EDGE Phase2-Node-1 Phase2-Node-2",
+            "SHORTEST PATH Phase2-Node-1 Phase2-Node-2",
+            "CLOSER THAN 23 Phase2-Node-1",
+            "WHAT'S UP?"
+    })
+    private String request;
+
+    @Benchmark
+    public Optional<GraphCommand> handWritten() {
+        return GraphCommandParser.parse(request);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        for (final Pattern pattern : PATTERNS) {
+            if (pattern.matcher(request).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package com.collibra.codingchallenge;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.collibra.codingchallenge.parsing.Messages.*;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+final class AsciiCodec {
+
+    private static final String SEPARATOR = System.getProperty("line.separator");
+    private static final byte[] ENCODED_SEPARATOR = SEPARATOR.getBytes(ISO_8859_1);
+
+    private static final Map<String, byte[]> ENCODED = new HashMap<>();
+
+    static {
+        Stream.of(
+                NODE_ADDED, EDGE_ADDED, NODE_REMOVED, EDGE_REMOVED, GRAPH_LOADED,
+                NODE_NOT_FOUND, NODE_ALREADY_EXISTS, GRAPH_NOT_LOADED, SERVER_NOT_SUPPORTED_COMMAND
+        ).forEach(message -> ENCODED.put(message, (message + SEPARATOR).getBytes(ISO_8859_1)));
+    }
+
+    static byte[] encode(final String message) {
+        final byte[] encoded = ENCODED.get(message);
+        if (encoded != null) {
+            return encoded;
+        }
+        final byte[] bytes = new byte[message.length() + ENCODED_SEPARATOR.length];
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            bytes[i] = c < 256 ? (byte) c : (byte) '?';
+        }
+        System.arraycopy(ENCODED_SEPARATOR, 0, bytes, message.length(), ENCODED_SEPARATOR.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,63 @@
+package com.collibra.codingchallenge;
+
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+final class AsciiLine implements CharSequence {
+
+    private byte[] bytes;
+    private int length;
+
+    AsciiLine() {
+        this(new byte[128], 0);
+    }
+
+    private AsciiLine(final byte[] bytes, final int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    void append(final byte b) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, 2 * length);
+        }
+        bytes[length++] = b;
+    }
+
+    void append(final byte[] source, final int offset, final int count) {
+        if (length + count > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, length + count));
+        }
+        System.arraycopy(source, offset, bytes, length, count);
+        length += count;
+    }
+
+    void clear() {
+        length = 0;
+    }
+
+    AsciiLine copy() {
+        return new AsciiLine(Arrays.copyOf(bytes, length), length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return (char) (bytes[index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return new String(bytes, start, end - start, ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, ISO_8859_1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.collibra.codingchallenge;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+
+final class AsciiReader implements Closeable {
+
+    private final InputStream input;
+    private final Flushable output;
+    private final byte[] buffer = new byte[8_192];
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+
+    AsciiReader(final InputStream input) {
+        this(input, () -> {
+        });
+    }
+
+    AsciiReader(final InputStream input, final Flushable output) {
+        this.input = input;
+        this.output = output;
+    }
+
+    boolean readLine(final AsciiLine line) throws IOException {
+        line.clear();
+        boolean read = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                return read;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            read = true;
+            int end = position;
+            while (end < limit && buffer[end] != '\n' && buffer[end] != '\r') {
+                end++;
+            }
+            line.append(buffer, position, end - position);
+            if (end < limit) {
+                skipLineFeed = buffer[end] == '\r';
+                position = end + 1;
+                return true;
+            }
+            position = end;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (input.available() == 0) {
+            output.flush();
+        }
+        final int read = input.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        IOUtils.closeQuietly(input);
+    }
+}
@@ -4,4 +4,18 @@ final class CollibraConstants {
 
     static final int COLLIBRA_PORT = 50_000;
     static final int CLIENT_TIMEOUT = 30_000;
+
+    static final ServerMode SERVER_MODE = ServerMode.of(System.getProperty("collibra.server.mode", "blocking"));
+    static final boolean PIPELINED = Boolean.parseBoolean(System.getProperty("collibra.protocol.pipelined", "true"));
+    static final GraphMode GRAPH_MODE = GraphMode.of(System.getProperty("collibra.graph.mode", "locking"));
+    static final String GRAPH_FILE = System.getProperty("collibra.graph.load");
+    static final String IMPORT_DIR = System.getProperty("collibra.graph.import.dir");
+    static final String JOURNAL_DIR = System.getProperty("collibra.journal.dir");
+    static final long CHECKPOINT_EVERY = Long.getLong("collibra.journal.checkpoint", 1_000_000);
+    static final int QUERY_CACHE_SIZE = Integer.getInteger("collibra.cache.size", 0);
+    static final long TREE_CACHE_BYTES = Long.getLong("collibra.cache.trees.bytes", 0);
+    static final int LANDMARKS = Integer.getInteger("collibra.sssp.landmarks", 0);
+    static final boolean HIERARCHY = Boolean.parseBoolean(System.getProperty("collibra.sssp.hierarchy", "false"));
+    static final int METRICS_PORT = Integer.getInteger("collibra.metrics.port", 0);
+    static final int QUERY_PARALLELISM = Integer.getInteger("collibra.query.parallelism", Runtime.getRuntime().availableProcessors());
 }
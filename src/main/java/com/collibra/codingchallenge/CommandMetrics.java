@@ -0,0 +1,116 @@
+package com.collibra.codingchallenge;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class CommandMetrics implements CommandMetricsMXBean {
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final Timing execution = new Timing();
+    private final Timing lockWait = new Timing();
+
+    void executed(final long nanos) {
+        execution.record(nanos);
+    }
+
+    void waited(final long nanos) {
+        lockWait.record(nanos);
+    }
+
+    Timing execution() {
+        return execution;
+    }
+
+    Timing lockWait() {
+        return lockWait;
+    }
+
+    @Override
+    public long getCount() {
+        return execution.count();
+    }
+
+    @Override
+    public double getExecutionMeanMicros() {
+        return execution.histogram().getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getExecutionMedianMicros() {
+        return execution.percentile(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getExecution99thPercentileMicros() {
+        return execution.percentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getExecution999thPercentileMicros() {
+        return execution.percentile(99.9) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getExecutionMaxMicros() {
+        return execution.histogram().getMaxValue() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getLockWaits() {
+        return lockWait.count();
+    }
+
+    @Override
+    public double getLockWaitMeanMicros() {
+        return lockWait.histogram().getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getLockWait99thPercentileMicros() {
+        return lockWait.percentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getLockWaitMaxMicros() {
+        return lockWait.histogram().getMaxValue() / NANOS_PER_MICRO;
+    }
+
+    static final class Timing {
+
+        private static final int DIGITS = 2;
+
+        private final Recorder recorder = new Recorder(DIGITS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final Histogram cumulative = new Histogram(DIGITS);
+
+        private Histogram interval;
+
+        void record(final long nanos) {
+            recorder.recordValue(nanos);
+            count.increment();
+            total.add(nanos);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long total() {
+            return total.sum();
+        }
+
+        long percentile(final double percentile) {
+            return histogram().getValueAtPercentile(percentile);
+        }
+
+        synchronized Histogram histogram() {
+            interval = recorder.getIntervalHistogram(interval);
+            cumulative.add(interval);
+            return cumulative.copy();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.collibra.codingchallenge;
+
+public interface CommandMetricsMXBean {
+
+    long getCount();
+
+    double getExecutionMeanMicros();
+
+    double getExecutionMedianMicros();
+
+    double getExecution99thPercentileMicros();
+
+    double getExecution999thPercentileMicros();
+
+    double getExecutionMaxMicros();
+
+    long getLockWaits();
+
+    double getLockWaitMeanMicros();
+
+    double getLockWait99thPercentileMicros();
+
+    double getLockWaitMaxMicros();
+}
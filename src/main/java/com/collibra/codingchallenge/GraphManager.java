@@ -1,44 +1,407 @@
 package com.collibra.codingchallenge;
 
 import com.collibra.codingchallenge.commands.*;
+import com.collibra.codingchallenge.graphs.CompactGraph;
+import com.collibra.codingchallenge.graphs.ContractionHierarchy;
 import com.collibra.codingchallenge.graphs.Edge;
+import com.collibra.codingchallenge.graphs.EdgeList;
+import com.collibra.codingchallenge.graphs.GraphIndex;
 import com.collibra.codingchallenge.graphs.GraphOps;
+import com.collibra.codingchallenge.graphs.GraphSnapshot;
+import com.collibra.codingchallenge.graphs.Landmarks;
 import com.collibra.codingchallenge.graphs.Node;
+import com.collibra.codingchallenge.graphs.PersistentGraph;
 import com.collibra.codingchallenge.parsing.Messages;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.uci.ics.jung.graph.Graph;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 
+import static com.collibra.codingchallenge.CollibraConstants.CHECKPOINT_EVERY;
+import static com.collibra.codingchallenge.CollibraConstants.GRAPH_MODE;
+import static com.collibra.codingchallenge.CollibraConstants.HIERARCHY;
+import static com.collibra.codingchallenge.CollibraConstants.IMPORT_DIR;
+import static com.collibra.codingchallenge.CollibraConstants.JOURNAL_DIR;
+import static com.collibra.codingchallenge.CollibraConstants.LANDMARKS;
+import static com.collibra.codingchallenge.CollibraConstants.QUERY_CACHE_SIZE;
+import static com.collibra.codingchallenge.CollibraConstants.QUERY_PARALLELISM;
+import static com.collibra.codingchallenge.CollibraConstants.TREE_CACHE_BYTES;
+import static com.collibra.codingchallenge.GraphMode.COMPACT;
+import static com.collibra.codingchallenge.GraphMode.SNAPSHOT;
 import static com.collibra.codingchallenge.commands.GraphCommand.match;
 import static com.collibra.codingchallenge.graphs.GraphOps.*;
 import static com.collibra.codingchallenge.graphs.GraphOps.closerThan;
 import static com.collibra.codingchallenge.graphs.GraphOps.shortestPath;
+import static com.collibra.codingchallenge.logging.Logging.logger;
 import static com.collibra.codingchallenge.parsing.Messages.*;
+import static com.collibra.codingchallenge.utils.Error.error;
+import static edu.uci.ics.jung.graph.util.EdgeType.DIRECTED;
 
 final class GraphManager {
 
-    private final Graph<Node, Edge> graph = GraphOps.graph();
+    private final GraphMode mode;
+    private Graph<Node, Edge> graph;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final QueryCache cache;
+    private final TreeCache trees;
+    private final WriteAheadLog log;
+    private final ExecutorService checkpointer;
+    private final ForkJoinPool queries;
+    private final Index<Landmarks> landmarks;
+    private final Index<ContractionHierarchy> hierarchy;
+    private final GraphMetrics metrics;
+    private final AtomicBoolean checkpointing = new AtomicBoolean();
+    private final Object snapshotting = new Object();
+    private final Path imports;
+
+    private volatile PersistentGraph snapshot;
+    private volatile boolean journalFailed;
+    private volatile Runnable journalFailure = () -> {
+    };
+    private boolean recovered;
+
+    GraphManager() {
+        this(GRAPH_MODE, QUERY_CACHE_SIZE, TREE_CACHE_BYTES, LANDMARKS, HIERARCHY, journal(), IMPORT_DIR);
+    }
+
+    GraphManager(final GraphMode mode, final int cacheSize, final long treeBytes) {
+        this(mode, cacheSize, treeBytes, 0, null);
+    }
+
+    GraphManager(final GraphMode mode, final int cacheSize, final long treeBytes, final WriteAheadLog log) {
+        this(mode, cacheSize, treeBytes, 0, log);
+    }
+
+    GraphManager(final GraphMode mode, final int cacheSize, final long treeBytes, final int landmarkCount, final WriteAheadLog log) {
+        this(mode, cacheSize, treeBytes, landmarkCount, false, log);
+    }
+
+    GraphManager(final GraphMode mode, final int cacheSize, final long treeBytes, final int landmarkCount,
+                 final boolean hierarchy, final WriteAheadLog log) {
+        this(mode, cacheSize, treeBytes, landmarkCount, hierarchy, log, null);
+    }
+
+    GraphManager(final GraphMode mode, final int cacheSize, final long treeBytes, final int landmarkCount,
+                 final boolean hierarchy, final WriteAheadLog log, final String importDir) {
+        this.mode = mode;
+        this.log = log;
+        this.imports = imports(importDir);
+        if (mode != COMPACT && landmarkCount > 0) {
+            LOGGER.warn("Landmarks are computed only in compact mode, not in {}", mode);
+        }
+        if (mode != COMPACT && hierarchy) {
+            LOGGER.warn("Contraction hierarchies are built only in compact mode, not in {}", mode);
+        }
+        this.landmarks = new Index<>("landmarker", mode == COMPACT && landmarkCount > 0,
+                graph -> Landmarks.prepare(graph, landmarkCount));
+        this.hierarchy = new Index<>("contractor", mode == COMPACT && hierarchy, ContractionHierarchy::prepare);
+        this.cache = cacheSize > 0 ? new QueryCache(cacheSize) : null;
+        this.trees = mode == COMPACT && treeBytes > 0 ? new TreeCache(treeBytes) : null;
+        this.metrics = new GraphMetrics(() -> size(Graph::getVertexCount), () -> size(Graph::getEdgeCount),
+                cache, trees);
+        this.queries = new ForkJoinPool(QUERY_PARALLELISM, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("query-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        if (mode != COMPACT && treeBytes > 0) {
+            LOGGER.warn("Shortest path trees are cached only in compact mode, not in {}", mode);
+        }
+        if (mode == SNAPSHOT) {
+            final PersistentGraph persistent = GraphOps.persistentGraph();
+            this.graph = persistent;
+            this.snapshot = persistent.snapshot();
+        } else if (mode == COMPACT) {
+            this.graph = GraphOps.compactGraph();
+        } else {
+            this.graph = GraphOps.graph();
+        }
+        if (log == null) {
+            this.checkpointer = null;
+        } else {
+            this.checkpointer = Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("checkpointer").setDaemon(true).build());
+            try {
+                recover();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        refreshIndexes();
+    }
 
     String handle(final GraphCommand command) {
-        synchronized (graph) {
-            LOGGER.debug("Handling {}", command);
-            return match(
-                    command,
-                    this::handleAddNode,
-                    this::handleAddEdge,
-                    this::handleRemoveNode,
-                    this::handleRemoveEdge,
-                    this::handleShortestPath,
-                    this::handleCloserThan
-            );
+        LOGGER.debug("Handling {}", command);
+        if (journalFailed) {
+            return JOURNAL_FAILED;
+        }
+        final CommandMetrics metered = metrics.of(command);
+        final long started = System.nanoTime();
+        final String response = match(
+                command,
+                c -> mutate(metered, c, () -> handleAddNode(c)),
+                c -> mutate(metered, c, () -> handleAddEdge(c)),
+                c -> mutate(metered, c, () -> handleRemoveNode(c)),
+                c -> mutate(metered, c, () -> handleRemoveEdge(c)),
+                c -> read(metered, g -> cached(g, c, () -> handleShortestPath(g, c))),
+                c -> read(metered, g -> cached(g, c, () -> handleCloserThan(g, c))),
+                c -> read(metered, g -> handleBatchCloserThan(g, c)),
+                c -> handleImportGraph(metered, c)
+        );
+        metered.executed(System.nanoTime() - started);
+        return response;
+    }
+
+    GraphMetrics metrics() {
+        return metrics;
+    }
+
+    void onJournalFailure(final Runnable action) {
+        journalFailure = action;
+    }
+
+    Optional<QueryCache.Stats> cacheStats() {
+        return Optional.ofNullable(cache).map(QueryCache::stats);
+    }
+
+    Optional<TreeCache.Stats> treeStats() {
+        return Optional.ofNullable(trees).map(TreeCache::stats);
+    }
+
+    String load(final String file) {
+        try {
+            return handleLoadGraph(metrics.of(GraphMetrics.Type.LOAD_GRAPH), Paths.get(file));
+        } catch (final InvalidPathException e) {
+            LOGGER.error("Could not load graph from {} - {}", file, e.getMessage());
+            return GRAPH_NOT_LOADED;
+        }
+    }
+
+    boolean recovered() {
+        return recovered;
+    }
+
+    Optional<Landmarks> landmarks() {
+        return Optional.ofNullable(landmarks.built);
+    }
+
+    Optional<ContractionHierarchy> hierarchy() {
+        return Optional.ofNullable(hierarchy.built);
+    }
+
+    void checkpoint() {
+        try {
+            synchronized (snapshotting) {
+                if (mode == SNAPSHOT) {
+                    final long sequence;
+                    final PersistentGraph image;
+                    lock.writeLock().lock();
+                    try {
+                        sequence = log.roll();
+                        image = snapshot;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    persist(image, sequence);
+                } else {
+                    final long sequence;
+                    final Graph<Node, Edge> image;
+                    lock.readLock().lock();
+                    try {
+                        sequence = log.roll();
+                        image = copy(graph);
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                    persist(image, sequence);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Could not write a snapshot - {}", e.getMessage());
+        } finally {
+            checkpointing.set(false);
+        }
+    }
+
+    private void recover() throws IOException {
+        final OptionalLong latest = log.latestSnapshot();
+        if (latest.isPresent()) {
+            final GraphSnapshot image = GraphSnapshot.read(log.snapshotPath(latest.getAsLong()));
+            graph = build(version(graph) + 1, image::map, image::into);
+            LOGGER.info("Recovered {} nodes and {} edges from snapshot {}", image.nodes(), image.edges(), latest.getAsLong());
+        }
+        final long sequence = log.recover(latest.orElse(0), mutation -> match(
+                mutation,
+                this::handleAddNode,
+                this::handleAddEdge,
+                this::handleRemoveNode,
+                this::handleRemoveEdge,
+                c -> error("queries are not logged"),
+                c -> error("queries are not logged"),
+                c -> error("queries are not logged"),
+                c -> error("loaded graphs are snapshotted, not logged")
+        ));
+        recovered = latest.isPresent() || sequence > 0;
+        if (mode == SNAPSHOT) {
+            snapshot = ((PersistentGraph) graph).snapshot();
+        }
+    }
+
+    private Graph<Node, Edge> build(final long version, final LongFunction<CompactGraph> compact,
+                                    final UnaryOperator<Graph<Node, Edge>> into) {
+        if (mode == COMPACT) {
+            return compact.apply(version);
+        }
+        return into.apply(mode == SNAPSHOT ? persistentGraph(version) : graph(version));
+    }
+
+    private static Graph<Node, Edge> copy(final Graph<Node, Edge> graph) {
+        if (graph instanceof CompactGraph) {
+            return ((CompactGraph) graph).copy();
+        }
+        final Graph<Node, Edge> copy = GraphOps.graph(version(graph));
+        for (final Node node : graph.getVertices()) {
+            copy.addVertex(node);
+        }
+        for (final Edge edge : graph.getEdges()) {
+            copy.addEdge(edge, graph.getSource(edge), graph.getDest(edge), DIRECTED);
+        }
+        return copy;
+    }
+
+    private void persist(final Graph<Node, Edge> image, final long sequence) throws IOException {
+        log.publish(stage(image), sequence);
+        LOGGER.info("Wrote snapshot {} of {} nodes and {} edges", sequence, image.getVertexCount(), image.getEdgeCount());
+    }
+
+    private Path stage(final Graph<Node, Edge> image) throws IOException {
+        final Path staged = log.stagingPath();
+        GraphSnapshot.write(image, staged);
+        return staged;
+    }
+
+    private String mutate(final CommandMetrics metered, final GraphCommand mutation, final Supplier<String> handler) {
+        if (log == null) {
+            return write(metered, handler);
+        }
+        final long[] sequence = new long[1];
+        final String response;
+        try {
+            response = write(metered, () -> {
+                final long before = version(graph);
+                final String handled = handler.get();
+                if (version(graph) != before) {
+                    sequence[0] = log.append(mutation);
+                }
+                return handled;
+            });
+            if (sequence[0] > 0) {
+                log.commit(sequence[0]);
+            }
+        } catch (final UncheckedIOException e) {
+            journalFailed = true;
+            LOGGER.error("Could not log {}, the graph is no longer served - {}", mutation, e.getMessage());
+            journalFailure.run();
+            return MUTATION_NOT_LOGGED;
+        }
+        if (sequence[0] > 0 && log.checkpointDue() && checkpointing.compareAndSet(false, true)) {
+            checkpointer.execute(this::checkpoint);
+        }
+        return response;
+    }
+
+    private String cached(final Graph<Node, Edge> graph, final GraphCommand query, final Supplier<String> answer) {
+        if (cache == null) {
+            return answer.get();
+        }
+        return cache.answer(query, version(graph), answer);
+    }
+
+    private String read(final CommandMetrics metered, final Function<Graph<Node, Edge>, String> query) {
+        if (mode == SNAPSHOT) {
+            return query.apply(snapshot);
+        }
+        return locked(lock.readLock(), metered, () -> query.apply(graph));
+    }
+
+    private String write(final CommandMetrics metered, final Supplier<String> mutation) {
+        final String response = locked(lock.writeLock(), metered, () -> {
+            final String handled = mutation.get();
+            if (mode == SNAPSHOT) {
+                snapshot = ((PersistentGraph) graph).snapshot();
+            }
+            return handled;
+        });
+        refreshIndexes();
+        return response;
+    }
+
+    private void refreshIndexes() {
+        landmarks.refresh();
+        hierarchy.refresh();
+    }
+
+    private GraphIndex index(final Graph<Node, Edge> graph) {
+        final ContractionHierarchy contracted = hierarchy.built;
+        return contracted != null && contracted.current((CompactGraph) graph) ? contracted : landmarks.built;
+    }
+
+    private int size(final ToIntFunction<Graph<Node, Edge>> measure) {
+        if (mode == SNAPSHOT) {
+            return measure.applyAsInt(snapshot);
+        }
+        return locked(lock.readLock(), () -> measure.applyAsInt(graph));
+    }
+
+    private static <T> T locked(final Lock lock, final Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> T locked(final Lock lock, final CommandMetrics metered, final Supplier<T> action) {
+        final long waiting = System.nanoTime();
+        lock.lock();
+        metered.waited(System.nanoTime() - waiting);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
         }
     }
 
     private String handleAddNode(final AddNode command) {
+        final long before = version(graph);
         final boolean added = addNode(graph, command.node);
+        if (trees != null) {
+            trees.nodeAdded((CompactGraph) graph, before);
+        }
         if (!added) {
             return NODE_ALREADY_EXISTS;
         }
@@ -46,7 +409,11 @@ final class GraphManager {
     }
 
     private String handleAddEdge(final AddEdge command) {
+        final long before = version(graph);
         final boolean added = addEdge(graph, command.weight, command.start, command.end);
+        if (trees != null) {
+            trees.edgeAdded((CompactGraph) graph, before, command.start, command.end, command.weight);
+        }
         if (!added) {
             return NODE_NOT_FOUND;
         }
@@ -54,7 +421,11 @@ final class GraphManager {
     }
 
     private String handleRemoveNode(final RemoveNode command) {
+        final long before = version(graph);
         final boolean removed = removeNode(graph, command.node);
+        if (trees != null) {
+            trees.nodeRemoved((CompactGraph) graph, before);
+        }
         if (!removed) {
             return NODE_NOT_FOUND;
         }
@@ -62,7 +433,11 @@ final class GraphManager {
     }
 
     private String handleRemoveEdge(final RemoveEdge command) {
+        final long before = version(graph);
         final boolean removed = removeEdge(graph, command.start, command.end);
+        if (trees != null) {
+            trees.edgesRemoved((CompactGraph) graph, before, command.start, command.end);
+        }
         if (!removed) {
             return NODE_NOT_FOUND;
         }
@@ -70,21 +445,177 @@ final class GraphManager {
 
     }
 
-    private String handleShortestPath(final ShortestPath command) {
-        final Optional<Integer> weight = shortestPath(graph, command.start, command.end);
+    private String handleImportGraph(final CommandMetrics metered, final LoadGraph command) {
+        if (imports == null) {
+            LOGGER.warn("Refused to load {} - no import directory is configured", command.file);
+            return GRAPH_NOT_LOADED;
+        }
+        final Path file;
+        try {
+            file = imports.resolve(command.file).toRealPath();
+        } catch (final IOException | InvalidPathException e) {
+            LOGGER.error("Could not load graph from {} - {}", command.file, e.getMessage());
+            return GRAPH_NOT_LOADED;
+        }
+        if (!file.startsWith(imports)) {
+            LOGGER.warn("Refused to load {} - it is outside the import directory {}", command.file, imports);
+            return GRAPH_NOT_LOADED;
+        }
+        return handleLoadGraph(metered, file);
+    }
+
+    private String handleLoadGraph(final CommandMetrics metered, final Path file) {
+        final LongFunction<CompactGraph> compact;
+        final UnaryOperator<Graph<Node, Edge>> into;
+        try {
+            if (GraphSnapshot.isSnapshot(file)) {
+                final GraphSnapshot image = GraphSnapshot.read(file);
+                compact = image::map;
+                into = image::into;
+            } else {
+                final EdgeList edges = EdgeList.read(file);
+                compact = edges::compactGraph;
+                into = edges::into;
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Could not load graph from {} - {}", file, e.getMessage());
+            return GRAPH_NOT_LOADED;
+        }
+        final Graph<Node, Edge> loaded = build(0, compact, into);
+        if (log == null) {
+            return write(metered, () -> replace(loaded, file));
+        }
+        synchronized (snapshotting) {
+            final Path staged;
+            try {
+                staged = stage(loaded);
+            } catch (final IOException e) {
+                LOGGER.error("Could not write a snapshot of the loaded graph - {}", e.getMessage());
+                return GRAPH_NOT_LOADED;
+            }
+            return write(metered, () -> {
+                try {
+                    log.publish(staged, log.roll());
+                } catch (final IOException e) {
+                    LOGGER.error("Could not publish the snapshot of the loaded graph - {}", e.getMessage());
+                    return GRAPH_NOT_LOADED;
+                }
+                return replace(loaded, file);
+            });
+        }
+    }
+
+    private String replace(final Graph<Node, Edge> loaded, final Path file) {
+        advance(loaded, version(graph) + 1);
+        graph = loaded;
+        if (cache != null) {
+            cache.invalidate();
+        }
+        if (trees != null) {
+            trees.invalidate();
+        }
+        LOGGER.info("Loaded {} nodes and {} edges from {}", graph.getVertexCount(), graph.getEdgeCount(), file);
+        return GRAPH_LOADED;
+    }
+
+    private String handleShortestPath(final Graph<Node, Edge> graph, final ShortestPath command) {
+        final Optional<Integer> weight = trees == null
+                ? shortestPath(graph, command.start, command.end, index(graph))
+                : trees.tree((CompactGraph) graph, command.start).flatMap(tree -> tree.shortestPath(command.end));
         if (!weight.isPresent()) {
             return NODE_NOT_FOUND;
         }
         return Messages.shortestPath(weight.get());
     }
 
-    private String handleCloserThan(final CloserThan command) {
-        final Optional<List<String>> nodes = closerThan(graph, command.weight, command.node);
+    private String handleCloserThan(final Graph<Node, Edge> graph, final CloserThan command) {
+        final Optional<List<String>> nodes = trees == null
+                ? closerThan(graph, command.weight, command.node)
+                : trees.tree((CompactGraph) graph, command.node).map(tree -> tree.closerThan(command.weight));
         if (!nodes.isPresent()) {
             return NODE_NOT_FOUND;
         }
         return Messages.closerThan(nodes.get());
     }
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(GraphManager.class);
+    private String handleBatchCloserThan(final Graph<Node, Edge> graph, final BatchCloserThan command) {
+        final List<ForkJoinTask<String>> searches = new ArrayList<>(command.nodes.size());
+        for (final String node : command.nodes) {
+            final CloserThan query = new CloserThan(command.weight, node);
+            searches.add(queries.submit(() -> cached(graph, query, () -> handleCloserThan(graph, query))));
+        }
+        final List<String> answers = new ArrayList<>(searches.size());
+        for (final ForkJoinTask<String> search : searches) {
+            answers.add(search.join());
+        }
+        return Messages.lines(answers);
+    }
+
+    private static Path imports(final String directory) {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            return Paths.get(directory).toRealPath();
+        } catch (final IOException | InvalidPathException e) {
+            LOGGER.error("Import directory {} is not usable, LOAD GRAPH is disabled - {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    private static WriteAheadLog journal() {
+        if (JOURNAL_DIR == null) {
+            return null;
+        }
+        try {
+            return WriteAheadLog.open(Paths.get(JOURNAL_DIR), CHECKPOINT_EVERY);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Index<T extends GraphIndex> {
+
+        private final String name;
+        private final Function<CompactGraph, Supplier<T>> preparation;
+        private final ExecutorService builder;
+        private final AtomicBoolean building = new AtomicBoolean();
+
+        private volatile T built;
+
+        private Index(final String name, final boolean enabled, final Function<CompactGraph, Supplier<T>> preparation) {
+            this.name = name;
+            this.preparation = preparation;
+            this.builder = enabled ? Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat(name).setDaemon(true).build()) : null;
+        }
+
+        private void refresh() {
+            if (builder == null) {
+                return;
+            }
+            final T current = built;
+            final boolean stale = locked(lock.readLock(), () -> current == null || !current.current((CompactGraph) graph));
+            if (stale && building.compareAndSet(false, true)) {
+                builder.execute(this::build);
+            }
+        }
+
+        private void build() {
+            try {
+                final Supplier<T> computation = locked(lock.readLock(), () -> preparation.apply((CompactGraph) graph));
+                final long started = System.nanoTime();
+                built = computation.get();
+                LOGGER.info("Built {} for version {} in {} ms", built.getClass().getSimpleName(), built.version(),
+                        (System.nanoTime() - started) / 1_000_000);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Could not build {} index - {}", name, e.getMessage());
+            } finally {
+                building.set(false);
+            }
+            refresh();
+        }
+    }
+
+    private static final Logger LOGGER = logger(GraphManager.class);
 }
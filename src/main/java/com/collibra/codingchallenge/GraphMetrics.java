@@ -0,0 +1,170 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.GraphCommand;
+import org.HdrHistogram.Histogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import static com.collibra.codingchallenge.commands.GraphCommand.match;
+import static java.lang.String.format;
+
+final class GraphMetrics implements GraphMetricsMXBean {
+
+    static final String DOMAIN = "com.collibra.codingchallenge";
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<Type, CommandMetrics> commands = new EnumMap<>(Type.class);
+    private final LongAdder sessions = new LongAdder();
+    private final IntSupplier nodes;
+    private final IntSupplier edges;
+    private final QueryCache queries;
+    private final TreeCache trees;
+
+    GraphMetrics(final IntSupplier nodes, final IntSupplier edges, final QueryCache queries, final TreeCache trees) {
+        this.nodes = nodes;
+        this.edges = edges;
+        this.queries = queries;
+        this.trees = trees;
+        for (final Type type : Type.values()) {
+            commands.put(type, new CommandMetrics());
+        }
+    }
+
+    CommandMetrics of(final GraphCommand command) {
+        return commands.get(Type.of(command));
+    }
+
+    CommandMetrics of(final Type type) {
+        return commands.get(type);
+    }
+
+    void sessionStarted() {
+        sessions.increment();
+    }
+
+    void sessionFinished() {
+        sessions.decrement();
+    }
+
+    @Override
+    public int getNodes() {
+        return nodes.getAsInt();
+    }
+
+    @Override
+    public int getEdges() {
+        return edges.getAsInt();
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return sessions.sum();
+    }
+
+    void register(final MBeanServer server) throws JMException {
+        server.registerMBean(this, new ObjectName(DOMAIN + ":type=Graph"));
+        for (final Map.Entry<Type, CommandMetrics> command : commands.entrySet()) {
+            server.registerMBean(command.getValue(), new ObjectName(DOMAIN + ":type=Command,name=" + command.getKey()));
+        }
+        if (queries != null) {
+            server.registerMBean(queries, new ObjectName(DOMAIN + ":type=Cache,name=Query"));
+        }
+        if (trees != null) {
+            server.registerMBean(trees, new ObjectName(DOMAIN + ":type=Cache,name=Tree"));
+        }
+    }
+
+    String scrape() {
+        final StringBuilder text = new StringBuilder();
+        gauge(text, "collibra_graph_nodes", "Nodes in the graph", getNodes());
+        gauge(text, "collibra_graph_edges", "Edges in the graph", getEdges());
+        gauge(text, "collibra_sessions_active", "Client sessions currently open", getActiveSessions());
+        text.append("# HELP collibra_commands_total Commands handled\n");
+        text.append("# TYPE collibra_commands_total counter\n");
+        for (final Map.Entry<Type, CommandMetrics> command : commands.entrySet()) {
+            text.append(format("collibra_commands_total{command=\"%s\"} %d\n",
+                    command.getKey().label(), command.getValue().getCount()));
+        }
+        summary(text, "collibra_command_seconds", "Time to handle a command, lock wait included",
+                CommandMetrics::execution);
+        summary(text, "collibra_lock_wait_seconds", "Time spent waiting for the graph lock",
+                CommandMetrics::lockWait);
+        if (queries != null) {
+            counter(text, "collibra_query_cache_hits_total", "Queries answered from the cache", queries.getHits());
+            counter(text, "collibra_query_cache_misses_total", "Queries computed on the graph", queries.getMisses());
+            counter(text, "collibra_query_cache_evictions_total", "Answers evicted from the cache",
+                    queries.getEvictions());
+            gauge(text, "collibra_query_cache_size", "Answers in the cache", queries.getSize());
+        }
+        if (trees != null) {
+            counter(text, "collibra_tree_cache_hits_total", "Shortest path trees found in the cache", trees.getHits());
+            counter(text, "collibra_tree_cache_misses_total", "Shortest path trees computed", trees.getMisses());
+            counter(text, "collibra_tree_cache_repairs_total", "Cached trees repaired after a mutation",
+                    trees.getRepairs());
+            counter(text, "collibra_tree_cache_evictions_total", "Trees evicted from the cache", trees.getEvictions());
+            gauge(text, "collibra_tree_cache_size", "Trees in the cache", trees.getSize());
+        }
+        return text.toString();
+    }
+
+    private void summary(final StringBuilder text, final String name, final String help,
+                         final Function<CommandMetrics, CommandMetrics.Timing> timing) {
+        text.append(format("# HELP %s %s\n", name, help));
+        text.append(format("# TYPE %s summary\n", name));
+        for (final Map.Entry<Type, CommandMetrics> command : commands.entrySet()) {
+            final String label = command.getKey().label();
+            final CommandMetrics.Timing timed = timing.apply(command.getValue());
+            final Histogram histogram = timed.histogram();
+            for (final double quantile : QUANTILES) {
+                text.append(format("%s{command=\"%s\",quantile=\"%s\"} %s\n", name, label, quantile,
+                        histogram.getValueAtPercentile(100 * quantile) / NANOS_PER_SECOND));
+            }
+            text.append(format("%s_sum{command=\"%s\"} %s\n", name, label, timed.total() / NANOS_PER_SECOND));
+            text.append(format("%s_count{command=\"%s\"} %d\n", name, label, timed.count()));
+        }
+    }
+
+    private static void counter(final StringBuilder text, final String name, final String help, final long value) {
+        text.append(format("# HELP %s %s\n", name, help));
+        text.append(format("# TYPE %s counter\n", name));
+        text.append(format("%s %d\n", name, value));
+    }
+
+    private static void gauge(final StringBuilder text, final String name, final String help, final long value) {
+        text.append(format("# HELP %s %s\n", name, help));
+        text.append(format("# TYPE %s gauge\n", name));
+        text.append(format("%s %d\n", name, value));
+    }
+
+    enum Type {
+
+        ADD_NODE, ADD_EDGE, REMOVE_NODE, REMOVE_EDGE, SHORTEST_PATH, CLOSER_THAN, BATCH_CLOSER_THAN, LOAD_GRAPH;
+
+        static Type of(final GraphCommand command) {
+            return match(
+                    command,
+                    c -> ADD_NODE,
+                    c -> ADD_EDGE,
+                    c -> REMOVE_NODE,
+                    c -> REMOVE_EDGE,
+                    c -> SHORTEST_PATH,
+                    c -> CLOSER_THAN,
+                    c -> BATCH_CLOSER_THAN,
+                    c -> LOAD_GRAPH
+            );
+        }
+
+        String label() {
+            return name().toLowerCase();
+        }
+    }
+}
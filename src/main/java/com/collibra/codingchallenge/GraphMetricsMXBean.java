@@ -0,0 +1,10 @@
+package com.collibra.codingchallenge;
+
+public interface GraphMetricsMXBean {
+
+    int getNodes();
+
+    int getEdges();
+
+    long getActiveSessions();
+}
@@ -0,0 +1,12 @@
+package com.collibra.codingchallenge;
+
+enum GraphMode {
+
+    LOCKING,
+    SNAPSHOT,
+    COMPACT;
+
+    static GraphMode of(final String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -7,9 +7,11 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import javax.management.JMException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.Optional;
@@ -19,6 +21,13 @@ import java.util.concurrent.Executors;
 
 import static com.collibra.codingchallenge.CollibraConstants.CLIENT_TIMEOUT;
 import static com.collibra.codingchallenge.CollibraConstants.COLLIBRA_PORT;
+import static com.collibra.codingchallenge.CollibraConstants.GRAPH_FILE;
+import static com.collibra.codingchallenge.CollibraConstants.METRICS_PORT;
+import static com.collibra.codingchallenge.CollibraConstants.PIPELINED;
+import static com.collibra.codingchallenge.CollibraConstants.SERVER_MODE;
+import static com.collibra.codingchallenge.ServerMode.NIO;
+import static com.collibra.codingchallenge.logging.Logging.logger;
+import static com.collibra.codingchallenge.parsing.Messages.GRAPH_NOT_LOADED;
 
 public final class GraphServer {
 
@@ -26,10 +35,57 @@ public final class GraphServer {
 
     public static void main(final String[] ignored) {
         LOGGER.info("Starting Collibra Graph Server");
-        new GraphServer().start(COLLIBRA_PORT, CLIENT_TIMEOUT);
+        final GraphServer server;
+        try {
+            server = new GraphServer();
+        } catch (final UncheckedIOException e) {
+            LOGGER.error("Could not recover the graph - {}", e.getMessage());
+            System.exit(1);
+            return;
+        }
+        server.graphManager.onJournalFailure(() -> {
+            LOGGER.error("Stopping - the journal cannot be written, restart to recover the logged graph");
+            System.exit(1);
+        });
+        if (GRAPH_FILE != null) {
+            if (server.graphManager.recovered()) {
+                LOGGER.warn("Not loading {} - the graph was recovered from the journal", GRAPH_FILE);
+            } else {
+                server.load(GRAPH_FILE);
+            }
+        }
+        server.exposeMetrics(METRICS_PORT);
+        if (SERVER_MODE == NIO) {
+            server.startNonBlocking(COLLIBRA_PORT, CLIENT_TIMEOUT);
+        } else {
+            server.start(COLLIBRA_PORT, CLIENT_TIMEOUT);
+        }
         LOGGER.info("Collibra Graph Server finished"); // FIXME: handle graceful closing
     }
 
+    private void load(final String file) {
+        LOGGER.info("Loading graph from {}", file);
+        final String response = graphManager.load(file);
+        if (response.equals(GRAPH_NOT_LOADED)) {
+            System.exit(1);
+        }
+    }
+
+    private void exposeMetrics(final int port) {
+        try {
+            graphManager.metrics().register(ManagementFactory.getPlatformMBeanServer());
+        } catch (final JMException e) {
+            LOGGER.error("Could not register metrics MBeans - {}", e.getMessage());
+        }
+        if (port > 0) {
+            try {
+                new MetricsEndpoint(graphManager.metrics(), port);
+            } catch (final IOException e) {
+                LOGGER.error("Could not serve metrics on port {} - {}", port, e.getMessage());
+            }
+        }
+    }
+
     private void start(final int port, final int timeout) {
         final ExecutorService pool = Executors.newFixedThreadPool(50);
         final ListeningExecutorService service = MoreExecutors.listeningDecorator(pool);
@@ -52,6 +108,15 @@ public final class GraphServer {
         }
     }
 
+    private void startNonBlocking(final int port, final int timeout) {
+        try (final NioServer server = new NioServer(graphManager, port, timeout)) {
+            server.run();
+        } catch (final IOException e) {
+            LOGGER.error("Could not start the server - {}", e.getMessage());
+            System.exit(1);
+        }
+    }
+
     @RequiredArgsConstructor
     private class ClientHandler implements Callable<Boolean> {
 
@@ -59,10 +124,11 @@ public final class GraphServer {
 
         @Override
         public Boolean call() {
-            try (final Protocol protocol = new Protocol(client)) {
+            graphManager.metrics().sessionStarted();
+            try (final Protocol protocol = new Protocol(client, PIPELINED)) {
                 protocol.initialize();
                 protocol.exchangeFormalities();
-                for (final String request : protocol.requests()) {
+                for (final CharSequence request : protocol.requests()) {
                     final Optional<GraphCommand> command = GraphCommandParser.parse(request);
                     if (command.isPresent()) {
                         final String response = graphManager.handle(command.get());
@@ -74,7 +140,11 @@ public final class GraphServer {
             } catch (final IOException e) {
                 LOGGER.error("Error while executing protocol on client {} - {}", client, e.getMessage());
                 return false;
+            } finally {
+                graphManager.metrics().sessionFinished();
             }
+            graphManager.cacheStats().ifPresent(stats -> LOGGER.debug("Query cache {}", stats));
+            graphManager.treeStats().ifPresent(stats -> LOGGER.debug("Shortest path tree cache {}", stats));
             return true;
         }
     }
@@ -95,5 +165,5 @@ public final class GraphServer {
         }
     }
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(GraphServer.class);
+    private static final Logger LOGGER = logger(GraphServer.class);
 }
@@ -0,0 +1,63 @@
+package com.collibra.codingchallenge;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.collibra.codingchallenge.logging.Logging.logger;
+
+final class MetricsEndpoint implements AutoCloseable {
+
+    static final String PATH = "/metrics";
+
+    private final GraphMetrics metrics;
+    private final HttpServer server;
+    private final ExecutorService scraper;
+
+    MetricsEndpoint(final GraphMetrics metrics, final int port) throws IOException {
+        this.metrics = metrics;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.scraper = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("scraper").setDaemon(true).build());
+        server.createContext(PATH, this::scrape);
+        server.setExecutor(scraper);
+        server.start();
+        LOGGER.info("Serving metrics on port {}", port());
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        scraper.shutdown();
+    }
+
+    private void scrape(final HttpExchange exchange) throws IOException {
+        try {
+            final byte[] body = metrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not serve metrics - {}", e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static final Logger LOGGER = logger(MetricsEndpoint.class);
+}
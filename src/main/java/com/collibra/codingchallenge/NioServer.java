@@ -0,0 +1,368 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.GraphCommand;
+import com.collibra.codingchallenge.parsing.GraphCommandParser;
+import com.collibra.codingchallenge.parsing.Messages;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.collibra.codingchallenge.logging.Logging.logger;
+import static com.collibra.codingchallenge.parsing.Messages.*;
+import static java.lang.String.format;
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+
+final class NioServer implements Runnable, AutoCloseable {
+
+    private static final int SWEEP_INTERVAL = 1_000;
+    private static final int MAX_BACKLOG = 1_024;
+    private static final int MAX_GATHER = 64;
+    private static final long MAX_PENDING = 1 << 20;
+
+    private final GraphManager graphManager;
+    private final int timeout;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    private final Queue<Session> changed = new ConcurrentLinkedQueue<>();
+    private final Set<Session> sessions = new HashSet<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(8_192);
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+
+    private volatile boolean running = true;
+
+    NioServer(final GraphManager graphManager, final int port, final int timeout) throws IOException {
+        this.graphManager = graphManager;
+        this.timeout = timeout;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, OP_ACCEPT);
+    }
+
+    int port() {
+        return server.socket().getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        LOGGER.info("Waiting for clients on {} ...", server.socket());
+        long swept = System.currentTimeMillis();
+        try {
+            while (running) {
+                selector.select(SWEEP_INTERVAL);
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    } else if (key.isValid()) {
+                        ready((Session) key.attachment());
+                    }
+                }
+                for (Session session = changed.poll(); session != null; session = changed.poll()) {
+                    update(session);
+                }
+                final long now = System.currentTimeMillis();
+                if (now - swept >= SWEEP_INTERVAL) {
+                    sweep(now);
+                    swept = now;
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Server stopped - {}", e.getMessage());
+        } finally {
+            for (final Session session : new ArrayList<>(sessions)) {
+                session.close();
+            }
+            closeQuietly();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        final SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        final Session session = new Session(channel);
+        session.key = channel.register(selector, OP_READ, session);
+        sessions.add(session);
+        session.initialize();
+    }
+
+    private void ready(final Session session) {
+        try {
+            if (session.key.isReadable()) {
+                session.read();
+            }
+            if (session.key.isValid() && session.key.isWritable()) {
+                session.write();
+            }
+            update(session);
+        } catch (final IOException e) {
+            LOGGER.error("Error while executing protocol on client {} - {}", session.channel, e.getMessage());
+            session.close();
+        }
+    }
+
+    private void update(final Session session) {
+        if (!session.key.isValid()) {
+            return;
+        }
+        if (session.ending && session.output.isEmpty()) {
+            session.close();
+            return;
+        }
+        int ops = 0;
+        if (!session.inputEnded && session.backlog() < MAX_BACKLOG && session.pending.get() < MAX_PENDING) {
+            ops |= OP_READ;
+        }
+        if (!session.output.isEmpty()) {
+            ops |= OP_WRITE;
+        }
+        session.key.interestOps(ops);
+    }
+
+    private void sweep(final long now) {
+        for (final Session session : new ArrayList<>(sessions)) {
+            if (!session.inputEnded && session.idle() && now - session.active > timeout) {
+                LOGGER.error("Error while reading from client in session {} - Read timed out", session.sessionID);
+                session.endOfInput();
+                update(session);
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        workers.shutdown();
+        try {
+            server.close();
+            selector.close();
+        } catch (final IOException e) {
+            LOGGER.error("Error while closing the server - {}", e.getMessage());
+        }
+    }
+
+    private final class Session {
+
+        private final UUID sessionID = UUID.randomUUID();
+        private final SocketChannel channel;
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+        private final AtomicLong pending = new AtomicLong();
+        private final AsciiLine line = new AsciiLine();
+
+        private SelectionKey key;
+        private boolean skipLineFeed;
+        private boolean inputEnded;
+        private boolean scheduled;
+        private long active;
+
+        private volatile boolean ending;
+        private long started;
+        private String name;
+        private boolean greeted;
+
+        private Session(final SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void initialize() {
+            LOGGER.info("Client {} on {} started", sessionID, channel);
+            graphManager.metrics().sessionStarted();
+            started = System.currentTimeMillis();
+            active = started;
+            final String firstMessage = format(SERVER_FIRST_MESSAGE, sessionID);
+            LOGGER.info("Server first message is '{}'", firstMessage);
+            send(firstMessage);
+        }
+
+        private void read() throws IOException {
+            buffer.clear();
+            final int read = channel.read(buffer);
+            if (read < 0) {
+                if (line.length() > 0) {
+                    received();
+                }
+                endOfInput();
+                return;
+            }
+            active = System.currentTimeMillis();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                final byte b = buffer.get();
+                if (skipLineFeed && b == '\n') {
+                    skipLineFeed = false;
+                    continue;
+                }
+                skipLineFeed = b == '\r';
+                if (b == '\n' || b == '\r') {
+                    received();
+                } else {
+                    line.append(b);
+                }
+            }
+        }
+
+        private void write() throws IOException {
+            try {
+                while (!output.isEmpty()) {
+                    int gathered = 0;
+                    final Iterator<ByteBuffer> queued = output.iterator();
+                    while (queued.hasNext() && gathered < MAX_GATHER) {
+                        gather[gathered++] = queued.next();
+                    }
+                    pending.addAndGet(-channel.write(gather, 0, gathered));
+                    for (int i = 0; i < gathered; i++) {
+                        if (gather[i].hasRemaining()) {
+                            return;
+                        }
+                        output.poll();
+                    }
+                }
+                active = System.currentTimeMillis();
+            } finally {
+                Arrays.fill(gather, null);
+            }
+        }
+
+        private void received() {
+            final AsciiLine request = line.copy();
+            line.clear();
+            submit(() -> converse(request));
+        }
+
+        private void endOfInput() {
+            inputEnded = true;
+            submit(this::seeOff);
+        }
+
+        private synchronized int backlog() {
+            return tasks.size();
+        }
+
+        private synchronized boolean idle() {
+            return tasks.isEmpty() && !scheduled;
+        }
+
+        private synchronized void submit(final Runnable task) {
+            tasks.add(task);
+            if (!scheduled) {
+                scheduled = true;
+                workers.execute(this::process);
+            }
+        }
+
+        private synchronized Runnable next() {
+            final Runnable task = tasks.poll();
+            if (task == null) {
+                scheduled = false;
+            }
+            return task;
+        }
+
+        private void process() {
+            for (Runnable task = next(); task != null; task = next()) {
+                try {
+                    task.run();
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Error while executing protocol on client {} - {}", channel, e.getMessage());
+                    seeOff();
+                }
+            }
+            changed.add(this);
+            selector.wakeup();
+        }
+
+        private void converse(final CharSequence request) {
+            if (ending) {
+                return;
+            }
+            if (!greeted) {
+                greeted = true;
+                LOGGER.info("Client response was '{}'", request);
+                name = Messages.nodeName(request.toString()).orElseGet(
+                        () -> {
+                            LOGGER.error("Unable to parse client's name in session {}", sessionID);
+                            return "anonymous";
+                        });
+                final String serverResponse = format(SERVER_RESPONSE, name);
+                LOGGER.info("Server response is '{}'", serverResponse);
+                send(serverResponse);
+                return;
+            }
+            LOGGER.debug("Client request was '{}'", request);
+            if (Messages.clientEndedSession(request)) {
+                seeOff();
+                return;
+            }
+            final Optional<GraphCommand> command = GraphCommandParser.parse(request);
+            if (command.isPresent()) {
+                final String response = graphManager.handle(command.get());
+                LOGGER.debug("Server response is '{}'", response);
+                send(response);
+            } else {
+                LOGGER.info("Server 'not supported command' message is '{}'", SERVER_NOT_SUPPORTED_COMMAND);
+                send(SERVER_NOT_SUPPORTED_COMMAND);
+            }
+        }
+
+        private void seeOff() {
+            if (ending) {
+                return;
+            }
+            final long duration = System.currentTimeMillis() - started;
+            final String farewell = format(SERVER_FAREWELL, name, duration);
+            LOGGER.info("Server farewell is '{}'", farewell);
+            send(farewell);
+            ending = true;
+        }
+
+        private void send(final String message) {
+            final ByteBuffer encoded = ByteBuffer.wrap(AsciiCodec.encode(message));
+            pending.addAndGet(encoded.remaining());
+            output.add(encoded);
+            changed.add(this);
+            selector.wakeup();
+        }
+
+        private void close() {
+            if (!sessions.remove(this)) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                LOGGER.error("Error while closing the client in session {} - {}", sessionID, e.getMessage());
+            }
+            LOGGER.info("Client {} on {} finished", sessionID, channel);
+            graphManager.metrics().sessionFinished();
+            graphManager.cacheStats().ifPresent(stats -> LOGGER.debug("Query cache {}", stats));
+            graphManager.treeStats().ifPresent(stats -> LOGGER.debug("Shortest path tree cache {}", stats));
+        }
+    }
+
+    private static final Logger LOGGER = logger(NioServer.class);
+}
@@ -4,13 +4,13 @@ import com.collibra.codingchallenge.parsing.Messages;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.net.Socket;
 import java.util.Iterator;
 import java.util.UUID;
 
+import static com.collibra.codingchallenge.logging.Logging.logger;
 import static com.collibra.codingchallenge.parsing.Messages.*;
 import static java.lang.String.format;
 
@@ -19,17 +19,20 @@ final class Protocol implements AutoCloseable {
 
     private final UUID sessionID = UUID.randomUUID();
     private final Socket socket;
+    private final boolean pipelined;
 
-    private BufferedReader client;
-    private BufferedWriter server;
+    private final AsciiLine line = new AsciiLine();
+
+    private AsciiReader client;
+    private OutputStream server;
 
     private long started;
     private String name;
 
     void initialize() throws IOException {
         LOGGER.info("Client {} on {} started", sessionID, socket);
-        client = new BufferedReader(new InputStreamReader(new DataInputStream(socket.getInputStream())));
-        server = new BufferedWriter(new OutputStreamWriter(new DataOutputStream(socket.getOutputStream())));
+        server = new BufferedOutputStream(socket.getOutputStream());
+        client = new AsciiReader(socket.getInputStream(), server);
         started = System.currentTimeMillis();
     }
 
@@ -39,7 +42,7 @@ final class Protocol implements AutoCloseable {
         LOGGER.info("Server first message is '{}'", firstMessage);
         sendServerMessage(firstMessage);
 
-        final String clientResponse = client.readLine();
+        final String clientResponse = client.readLine(line) ? line.toString() : null;
         LOGGER.info("Client response was '{}'", clientResponse);
 
         name = Messages.nodeName(clientResponse).orElseGet(
@@ -56,20 +59,18 @@ final class Protocol implements AutoCloseable {
     void notSupportedCommand() throws IOException {
         final String message = SERVER_NOT_SUPPORTED_COMMAND;
         LOGGER.info("Server 'not supported command' message is '{}'", message);
-        sendServerMessage(message);
+        sendResponse(message);
     }
 
-    Iterable<String> requests() {
-        return () -> new Iterator<String>() {
-
-            private String request;
+    Iterable<CharSequence> requests() {
+        return () -> new Iterator<CharSequence>() {
 
             @Override
             public boolean hasNext() {
                 try {
-                    request = client.readLine();
-                    LOGGER.debug("Client request was '{}'", request);
-                    return request != null && !Messages.clientEndedSession(request);
+                    final boolean read = client.readLine(line);
+                    LOGGER.debug("Client request was '{}'", read ? line : null);
+                    return read && !Messages.clientEndedSession(line);
                 } catch (final IOException e) {
                     LOGGER.error("Error while reading from client in session {} - {}", sessionID, e.getMessage());
                     return false;
@@ -77,15 +78,15 @@ final class Protocol implements AutoCloseable {
             }
 
             @Override
-            public String next() {
-                return request;
+            public CharSequence next() {
+                return line;
             }
         };
     }
 
     void respond(final String response) throws IOException {
         LOGGER.debug("Server response is '{}'", response);
-        sendServerMessage(response);
+        sendResponse(response);
     }
 
     private void seeOff() throws IOException {
@@ -105,17 +106,24 @@ final class Protocol implements AutoCloseable {
         } catch (final IOException e) {
             LOGGER.error("Error while seeing off the client in session {} - {}", sessionID, e.getMessage());
         }
-        IOUtils.closeQuietly(client);
+        if (client != null) {
+            client.close();
+        }
         IOUtils.closeQuietly(server);
         LOGGER.info("Client {} on {} finished", sessionID, socket);
     }
 
-    private static final Object SEPARATOR = System.getProperty("line.separator");
-
     private void sendServerMessage(final String message) throws IOException {
-        server.write(message + SEPARATOR);
+        server.write(AsciiCodec.encode(message));
         server.flush();
     }
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(Protocol.class);
+    private void sendResponse(final String message) throws IOException {
+        server.write(AsciiCodec.encode(message));
+        if (!pipelined) {
+            server.flush();
+        }
+    }
+
+    private static final Logger LOGGER = logger(Protocol.class);
 }
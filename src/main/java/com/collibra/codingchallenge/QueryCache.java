@@ -0,0 +1,76 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.GraphCommand;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+final class QueryCache implements QueryCacheMXBean {
+
+    private final Cache<GraphCommand, Answer> answers;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    QueryCache(final long size) {
+        answers = CacheBuilder.newBuilder().maximumSize(size).recordStats().build();
+    }
+
+    String answer(final GraphCommand query, final long version, final Supplier<String> compute) {
+        final Answer cached = answers.getIfPresent(query);
+        if (cached != null && cached.version == version) {
+            hits.increment();
+            return cached.response;
+        }
+        misses.increment();
+        final Answer computed = new Answer(version, compute.get());
+        answers.asMap().merge(query, computed, (older, newer) -> older.version > newer.version ? older : newer);
+        return computed.response;
+    }
+
+    void invalidate() {
+        answers.invalidateAll();
+    }
+
+    Stats stats() {
+        return new Stats(getHits(), getMisses(), getEvictions(), getSize());
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return answers.stats().evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return answers.size();
+    }
+
+    @RequiredArgsConstructor
+    private static final class Answer {
+        final long version;
+        final String response;
+    }
+
+    @RequiredArgsConstructor
+    @ToString
+    static final class Stats {
+        final long hits;
+        final long misses;
+        final long evictions;
+        final long size;
+    }
+}
@@ -0,0 +1,12 @@
+package com.collibra.codingchallenge;
+
+public interface QueryCacheMXBean {
+
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    long getSize();
+}
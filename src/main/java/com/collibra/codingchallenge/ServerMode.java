@@ -0,0 +1,11 @@
+package com.collibra.codingchallenge;
+
+enum ServerMode {
+
+    BLOCKING,
+    NIO;
+
+    static ServerMode of(final String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,113 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.graphs.CompactGraph;
+import com.collibra.codingchallenge.graphs.GraphOps;
+import com.collibra.codingchallenge.graphs.ShortestPathTree;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+final class TreeCache implements TreeCacheMXBean {
+
+    private final Cache<String, ShortestPathTree> trees;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder repairs = new LongAdder();
+
+    TreeCache(final long bytes) {
+        trees = CacheBuilder.newBuilder().
+                maximumWeight(bytes).
+                <String, ShortestPathTree>weigher((start, tree) -> tree.bytes()).
+                recordStats().
+                build();
+    }
+
+    Optional<ShortestPathTree> tree(final CompactGraph graph, final String start) {
+        final ShortestPathTree cached = trees.getIfPresent(start);
+        if (cached != null && cached.version() == graph.version()) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        final Optional<ShortestPathTree> computed = GraphOps.shortestPathTree(graph, start);
+        computed.ifPresent(tree -> trees.asMap().merge(start, tree, (older, newer) -> older.version() > newer.version() ? older : newer));
+        return computed;
+    }
+
+    void nodeAdded(final CompactGraph graph, final long before) {
+        repair(graph, before, ShortestPathTree::nodeAdded);
+    }
+
+    void nodeRemoved(final CompactGraph graph, final long before) {
+        if (graph.version() != before) {
+            trees.invalidateAll();
+        }
+    }
+
+    void edgeAdded(final CompactGraph graph, final long before, final String start, final String end, final int weight) {
+        repair(graph, before, tree -> tree.edgeAdded(start, end, weight));
+    }
+
+    void edgesRemoved(final CompactGraph graph, final long before, final String start, final String end) {
+        repair(graph, before, tree -> tree.edgesRemoved(start, end));
+    }
+
+    void invalidate() {
+        trees.invalidateAll();
+    }
+
+    private void repair(final CompactGraph graph, final long before, final Consumer<ShortestPathTree> repair) {
+        if (graph.version() == before) {
+            return;
+        }
+        trees.asMap().values().removeIf(tree -> tree.version() != before);
+        for (final ShortestPathTree tree : trees.asMap().values()) {
+            repair.accept(tree);
+            repairs.increment();
+        }
+    }
+
+    Stats stats() {
+        return new Stats(getHits(), getMisses(), getRepairs(), getEvictions(), getSize());
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getRepairs() {
+        return repairs.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return trees.stats().evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return trees.size();
+    }
+
+    @RequiredArgsConstructor
+    @ToString
+    static final class Stats {
+        final long hits;
+        final long misses;
+        final long repairs;
+        final long evictions;
+        final long size;
+    }
+}
@@ -0,0 +1,14 @@
+package com.collibra.codingchallenge;
+
+public interface TreeCacheMXBean {
+
+    long getHits();
+
+    long getMisses();
+
+    long getRepairs();
+
+    long getEvictions();
+
+    long getSize();
+}
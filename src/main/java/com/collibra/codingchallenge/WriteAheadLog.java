@@ -0,0 +1,328 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.*;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import static com.collibra.codingchallenge.commands.GraphCommand.match;
+import static com.collibra.codingchallenge.logging.Logging.logger;
+import static com.collibra.codingchallenge.utils.Error.error;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+final class WriteAheadLog implements Closeable {
+
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{20})\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{20})\\.bin");
+
+    private static final byte ADD_NODE = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte REMOVE_NODE = 3;
+    private static final byte REMOVE_EDGE = 4;
+
+    private final Path directory;
+    private final long checkpointEvery;
+    private final Segments segments;
+    private final Object sync = new Object();
+
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1_024);
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1_024);
+    private FileChannel segment;
+    private long segmentStart;
+    private long appended;
+    private long checkpointed;
+
+    private volatile long durable;
+    private volatile IOException failure;
+
+    private WriteAheadLog(final Path directory, final long checkpointEvery, final Segments segments) {
+        this.directory = directory;
+        this.checkpointEvery = checkpointEvery;
+        this.segments = segments;
+    }
+
+    static WriteAheadLog open(final Path directory, final long checkpointEvery) throws IOException {
+        return open(directory, checkpointEvery, path -> FileChannel.open(path, CREATE_NEW, WRITE));
+    }
+
+    static WriteAheadLog open(final Path directory, final long checkpointEvery, final Segments segments)
+            throws IOException {
+        Files.createDirectories(directory);
+        return new WriteAheadLog(directory, checkpointEvery, segments);
+    }
+
+    OptionalLong latestSnapshot() throws IOException {
+        final TreeMap<Long, Path> snapshots = files(SNAPSHOT);
+        return snapshots.isEmpty() ? OptionalLong.empty() : OptionalLong.of(snapshots.lastKey());
+    }
+
+    long recover(final long snapshot, final Consumer<GraphCommand> replay) throws IOException {
+        final TreeMap<Long, Path> segments = files(SEGMENT);
+        final Long first = segments.floorKey(snapshot);
+        long sequence = snapshot;
+        for (final Path file : (first == null ? segments : segments.tailMap(first, true)).values()) {
+            sequence = replay(file, snapshot, sequence, replay);
+        }
+        synchronized (this) {
+            appended = sequence;
+            checkpointed = snapshot;
+            durable = sequence;
+            open(sequence);
+        }
+        LOGGER.info("Replayed {} logged mutations after snapshot {}", sequence - snapshot, snapshot);
+        return sequence;
+    }
+
+    synchronized long append(final GraphCommand mutation) {
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        final int start = pending.position();
+        match(
+                mutation,
+                c -> put(ADD_NODE, c.node, "", 0),
+                c -> put(ADD_EDGE, c.start, c.end, c.weight),
+                c -> put(REMOVE_NODE, c.node, "", 0),
+                c -> put(REMOVE_EDGE, c.start, c.end, 0),
+                c -> error("queries are not logged"),
+                c -> error("queries are not logged"),
+                c -> error("queries are not logged"),
+                c -> error("loaded graphs are snapshotted, not logged")
+        );
+        final int length = pending.position() - start - 8;
+        final CRC32 crc = new CRC32();
+        crc.update(pending.array(), start + 8, length);
+        pending.putInt(start, length);
+        pending.putInt(start + 4, (int) crc.getValue());
+        return ++appended;
+    }
+
+    void commit(final long sequence) {
+        if (durable >= sequence) {
+            return;
+        }
+        synchronized (sync) {
+            if (durable >= sequence) {
+                return;
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+            try {
+                flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    synchronized boolean checkpointDue() {
+        return appended - checkpointed >= checkpointEvery;
+    }
+
+    long roll() throws IOException {
+        synchronized (sync) {
+            flush();
+            synchronized (this) {
+                if (appended > segmentStart) {
+                    segment.close();
+                    open(appended);
+                }
+                checkpointed = appended;
+                return appended;
+            }
+        }
+    }
+
+    Path snapshotPath(final long sequence) {
+        return directory.resolve(format("snapshot-%020d.bin", sequence));
+    }
+
+    Path stagingPath() {
+        return directory.resolve("snapshot-staged.tmp");
+    }
+
+    void publish(final Path written, final long sequence) throws IOException {
+        Files.move(written, snapshotPath(sequence), ATOMIC_MOVE);
+        try {
+            for (final Path file : files(SNAPSHOT).headMap(sequence).values()) {
+                Files.delete(file);
+            }
+            for (final Path file : files(SEGMENT).headMap(sequence).values()) {
+                Files.delete(file);
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Could not delete files older than snapshot {} - {}", sequence, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (sync) {
+            try {
+                if (failure == null) {
+                    flush();
+                }
+            } finally {
+                synchronized (this) {
+                    segment.close();
+                }
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        final long upTo;
+        final FileChannel channel;
+        synchronized (this) {
+            final ByteBuffer full = pending;
+            pending = writing;
+            writing = full;
+            upTo = appended;
+            channel = segment;
+        }
+        try {
+            writing.flip();
+            while (writing.hasRemaining()) {
+                channel.write(writing);
+            }
+            writing.clear();
+            channel.force(false);
+        } catch (final IOException e) {
+            failure = e;
+            throw e;
+        }
+        durable = upTo;
+    }
+
+    private long replay(final Path file, final long snapshot, final long first, final Consumer<GraphCommand> replay) throws IOException {
+        final long start = sequence(SEGMENT, file);
+        if (start > first) {
+            throw new IOException(format("Log segment %s starts after mutation %d", file, first));
+        }
+        long sequence = start;
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final CRC32 crc = new CRC32();
+            final byte[] record = new byte[1_024];
+            while (buffer.remaining() >= 8) {
+                final int length = buffer.getInt();
+                final int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                final byte[] bytes = length > record.length ? new byte[length] : record;
+                buffer.get(bytes, 0, length);
+                crc.reset();
+                crc.update(bytes, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                if (sequence++ >= snapshot) {
+                    replay.accept(decode(ByteBuffer.wrap(bytes, 0, length)));
+                }
+            }
+            if (buffer.hasRemaining()) {
+                LOGGER.warn("Ignoring a torn record at the end of {}", file);
+            }
+        }
+        return sequence;
+    }
+
+    private static GraphCommand decode(final ByteBuffer record) throws IOException {
+        final byte type = record.get();
+        final int weight = record.getInt();
+        final String first = getName(record);
+        final String second = getName(record);
+        switch (type) {
+            case ADD_NODE:
+                return new AddNode(first);
+            case ADD_EDGE:
+                return new AddEdge(first, second, weight);
+            case REMOVE_NODE:
+                return new RemoveNode(first);
+            case REMOVE_EDGE:
+                return new RemoveEdge(first, second);
+            default:
+                throw new IOException("Unknown record in the log");
+        }
+    }
+
+    private static String getName(final ByteBuffer record) {
+        final byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, ISO_8859_1);
+    }
+
+    private Void put(final byte type, final String first, final String second, final int weight) {
+        final byte[] firstBytes = first.getBytes(ISO_8859_1);
+        final byte[] secondBytes = second.getBytes(ISO_8859_1);
+        reserve(8 + 1 + 4 + 4 + firstBytes.length + 4 + secondBytes.length);
+        pending.position(pending.position() + 8);
+        pending.put(type).putInt(weight);
+        pending.putInt(firstBytes.length).put(firstBytes);
+        pending.putInt(secondBytes.length).put(secondBytes);
+        return null;
+    }
+
+    private void reserve(final int bytes) {
+        if (pending.remaining() < bytes) {
+            final ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * pending.capacity(), pending.position() + bytes));
+            pending.flip();
+            pending = larger.put(pending);
+        }
+    }
+
+    private void open(final long start) throws IOException {
+        final Path path = directory.resolve(format("wal-%020d.log", start));
+        Files.deleteIfExists(path);
+        segment = segments.create(path);
+        segmentStart = start;
+    }
+
+    private TreeMap<Long, Path> files(final Pattern pattern) throws IOException {
+        final TreeMap<Long, Path> files = new TreeMap<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (final Path file : stream) {
+                if (pattern.matcher(file.getFileName().toString()).matches()) {
+                    files.put(sequence(pattern, file), file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static long sequence(final Pattern pattern, final Path file) {
+        final Matcher matcher = pattern.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : error("not a log file: " + file);
+    }
+
+    @FunctionalInterface
+    interface Segments {
+
+        FileChannel create(Path path) throws IOException;
+    }
+
+    private static final Logger LOGGER = logger(WriteAheadLog.class);
+}
@@ -0,0 +1,15 @@
+package com.collibra.codingchallenge.commands;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BatchCloserThan implements GraphCommand {
+    public final int weight;
+    public final List<String> nodes;
+}
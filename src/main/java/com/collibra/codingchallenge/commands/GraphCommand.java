@@ -15,7 +15,9 @@ public interface GraphCommand {
                     final Function<RemoveNode, T> removeNode,
                     final Function<RemoveEdge, T> removeEdge,
                     final Function<ShortestPath, T> shortestPath,
-                    final Function<CloserThan, T> closerThan
+                    final Function<CloserThan, T> closerThan,
+                    final Function<BatchCloserThan, T> batchCloserThan,
+                    final Function<LoadGraph, T> loadGraph
             ) {
 
         checkNotNull(command);
@@ -32,6 +34,10 @@ public interface GraphCommand {
             return shortestPath.apply((ShortestPath) command);
         if (command instanceof CloserThan)
             return closerThan.apply((CloserThan) command);
+        if (command instanceof BatchCloserThan)
+            return batchCloserThan.apply((BatchCloserThan) command);
+        if (command instanceof LoadGraph)
+            return loadGraph.apply((LoadGraph) command);
 
         return error("this cannot happen");
     }
@@ -0,0 +1,12 @@
+package com.collibra.codingchallenge.commands;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class LoadGraph implements GraphCommand {
+    public final String file;
+}
@@ -0,0 +1,215 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+final class Adjacency {
+
+    private static final int[] NO_DELTA = new int[0];
+
+    private int nodes;
+    private IntBuffer offsets = IntBuffer.allocate(1);
+    private IntBuffer ends = IntBuffer.allocate(0);
+    private IntBuffer weights = IntBuffer.allocate(0);
+    private long[] removed = new long[0];
+
+    int[][] delta = new int[0][];
+    int[] deltaSize = new int[0];
+
+    private int tombstones;
+    private int pending;
+
+    void ensureCapacity(final int capacity) {
+        if (capacity > delta.length) {
+            final int length = Math.max(capacity, Math.max(16, delta.length * 2));
+            delta = Arrays.copyOf(delta, length);
+            deltaSize = Arrays.copyOf(deltaSize, length);
+        }
+    }
+
+    int baseStart(final int node) {
+        return node < nodes ? offsets.get(node) : 0;
+    }
+
+    int baseEnd(final int node) {
+        return node < nodes ? offsets.get(node + 1) : 0;
+    }
+
+    int baseSize() {
+        return offsets.get(nodes);
+    }
+
+    int end(final int index) {
+        return ends.get(index);
+    }
+
+    int weight(final int index) {
+        return weights.get(index);
+    }
+
+    boolean removed(final int index) {
+        return (removed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    int[] delta(final int node) {
+        final int[] pairs = delta[node];
+        return pairs == null ? NO_DELTA : pairs;
+    }
+
+    void add(final int from, final int to, final int weight) {
+        int[] pairs = delta[from];
+        final int size = deltaSize[from];
+        if (pairs == null) {
+            pairs = delta[from] = new int[4];
+        } else if (2 * size == pairs.length) {
+            pairs = delta[from] = Arrays.copyOf(pairs, pairs.length * 2);
+        }
+        pairs[2 * size] = to;
+        pairs[2 * size + 1] = weight;
+        deltaSize[from] = size + 1;
+        pending++;
+    }
+
+    boolean contains(final int from, final int to, final int weight) {
+        for (int i = baseStart(from), end = baseEnd(from); i < end; i++) {
+            if (ends.get(i) == to && weights.get(i) == weight && !removed(i)) {
+                return true;
+            }
+        }
+        final int[] pairs = delta(from);
+        for (int k = 0, size = deltaSize[from]; k < size; k++) {
+            if (pairs[2 * k] == to && pairs[2 * k + 1] == weight) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean remove(final int from, final int to, final int weight) {
+        for (int i = baseStart(from), end = baseEnd(from); i < end; i++) {
+            if (ends.get(i) == to && weights.get(i) == weight && !removed(i)) {
+                tombstone(i);
+                return true;
+            }
+        }
+        final int[] pairs = delta(from);
+        for (int k = 0, size = deltaSize[from]; k < size; k++) {
+            if (pairs[2 * k] == to && pairs[2 * k + 1] == weight) {
+                removeDelta(from, k);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void tombstone(final int index) {
+        removed[index >>> 6] |= 1L << index;
+        tombstones++;
+    }
+
+    void removeDelta(final int from, final int k) {
+        final int[] pairs = delta[from];
+        final int last = deltaSize[from] - 1;
+        pairs[2 * k] = pairs[2 * last];
+        pairs[2 * k + 1] = pairs[2 * last + 1];
+        deltaSize[from] = last;
+        pending--;
+    }
+
+    void clear(final int node) {
+        for (int i = baseStart(node), end = baseEnd(node); i < end; i++) {
+            if (!removed(i)) {
+                tombstone(i);
+            }
+        }
+        pending -= deltaSize[node];
+        delta[node] = null;
+        deltaSize[node] = 0;
+    }
+
+    boolean fragmented(final int edges) {
+        return tombstones + pending > Math.max(1024, edges / 2);
+    }
+
+    void compact(final int capacity) {
+        copy(capacity, this);
+    }
+
+    Adjacency copy(final int capacity) {
+        return copy(capacity, new Adjacency());
+    }
+
+    private Adjacency copy(final int capacity, final Adjacency into) {
+        final int[] compacted = new int[capacity + 1];
+        for (int node = 0; node < capacity; node++) {
+            compacted[node + 1] = compacted[node] + live(node);
+        }
+        final int total = compacted[capacity];
+        final int[] compactedEnds = new int[total];
+        final int[] compactedWeights = new int[total];
+        int at = 0;
+        for (int node = 0; node < capacity; node++) {
+            for (int i = baseStart(node), end = baseEnd(node); i < end; i++) {
+                if (!removed(i)) {
+                    compactedEnds[at] = ends.get(i);
+                    compactedWeights[at++] = weights.get(i);
+                }
+            }
+            final int[] pairs = delta(node);
+            for (int k = 0, size = deltaSize[node]; k < size; k++) {
+                compactedEnds[at] = pairs[2 * k];
+                compactedWeights[at++] = pairs[2 * k + 1];
+            }
+        }
+        into.load(capacity, compacted, compactedEnds, compactedWeights);
+        return into;
+    }
+
+    void load(final int capacity, final int[] offsets, final int[] ends, final int[] weights) {
+        map(capacity, IntBuffer.wrap(offsets), IntBuffer.wrap(ends), IntBuffer.wrap(weights));
+    }
+
+    void map(final int capacity, final IntBuffer offsets, final IntBuffer ends, final IntBuffer weights) {
+        ensureCapacity(capacity);
+        this.nodes = capacity;
+        this.offsets = offsets;
+        this.ends = ends;
+        this.weights = weights;
+        removed = new long[(offsets.get(capacity) + 63) >>> 6];
+        Arrays.fill(delta, null);
+        Arrays.fill(deltaSize, 0);
+        tombstones = 0;
+        pending = 0;
+    }
+
+    void loadTransposed(final int capacity, final int[] offsets, final int[] ends, final int[] weights) {
+        final int[] transposed = new int[capacity + 1];
+        for (int i = 0; i < offsets[capacity]; i++) {
+            transposed[ends[i] + 1]++;
+        }
+        for (int node = 0; node < capacity; node++) {
+            transposed[node + 1] += transposed[node];
+        }
+        final int[] transposedEnds = new int[offsets[capacity]];
+        final int[] transposedWeights = new int[offsets[capacity]];
+        final int[] next = Arrays.copyOf(transposed, capacity);
+        for (int node = 0; node < capacity; node++) {
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                final int at = next[ends[i]]++;
+                transposedEnds[at] = node;
+                transposedWeights[at] = weights[i];
+            }
+        }
+        load(capacity, transposed, transposedEnds, transposedWeights);
+    }
+
+    private int live(final int node) {
+        int count = deltaSize.length > node ? deltaSize[node] : 0;
+        for (int i = baseStart(node), end = baseEnd(node); i < end; i++) {
+            if (!removed(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
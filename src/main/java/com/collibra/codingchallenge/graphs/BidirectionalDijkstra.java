@@ -0,0 +1,204 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+
+import static com.collibra.codingchallenge.graphs.Dijkstra.UNREACHABLE;
+
+final class BidirectionalDijkstra {
+
+    private static final ThreadLocal<BidirectionalDijkstra> SCRATCH = ThreadLocal.withInitial(BidirectionalDijkstra::new);
+
+    private final Search forward = new Search(1);
+    private final Search backward = new Search(-1);
+    private long[] potential = new long[0];
+    private int[] known = new int[0];
+    private int epoch;
+    private Landmarks landmarks;
+    private int start;
+    private int end;
+
+    static BidirectionalDijkstra scratch() {
+        return SCRATCH.get();
+    }
+
+    long distance(final CompactGraph graph, final int start, final int end, final Landmarks landmarks) {
+        if (start == end) {
+            return 0;
+        }
+        reset(graph.capacity());
+        this.landmarks = landmarks != null && landmarks.current(graph) ? landmarks : null;
+        this.start = start;
+        this.end = end;
+        forward.reset(graph.out, graph.capacity(), backward);
+        backward.reset(graph.in, graph.capacity(), forward);
+        forward.reach(start, 0);
+        backward.reach(end, 0);
+        long best = UNREACHABLE;
+        while (forward.size > 0 && backward.size > 0) {
+            final long top = forward.topKey() + backward.topKey();
+            if (best != UNREACHABLE && top >= 2 * best) {
+                break;
+            }
+            final Search search = forward.topKey() <= backward.topKey() ? forward : backward;
+            best = Math.min(best, search.settle());
+        }
+        this.landmarks = null;
+        return best;
+    }
+
+    int explored() {
+        return forward.settledCount + backward.settledCount;
+    }
+
+    private long potential(final int node) {
+        if (landmarks == null) {
+            return 0;
+        }
+        if (known[node] != epoch) {
+            known[node] = epoch;
+            potential[node] = landmarks.potential(node, start, end);
+        }
+        return potential[node];
+    }
+
+    private void reset(final int capacity) {
+        if (capacity > known.length) {
+            final int length = Math.max(capacity, known.length * 2);
+            potential = new long[length];
+            known = new int[length];
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(known, 0);
+            epoch = 1;
+        }
+    }
+
+    private final class Search {
+
+        private final int sign;
+        private Adjacency adjacency;
+        private Search other;
+        private long[] distance = new long[0];
+        private long[] key = new long[0];
+        private int[] reached = new int[0];
+        private int[] settled = new int[0];
+        private int[] position = new int[0];
+        private int[] heap = new int[0];
+        private int size;
+        private int settledCount;
+        private int epoch;
+
+        private Search(final int sign) {
+            this.sign = sign;
+        }
+
+        private void reset(final Adjacency adjacency, final int capacity, final Search other) {
+            this.adjacency = adjacency;
+            this.other = other;
+            if (capacity > distance.length) {
+                final int length = Math.max(capacity, distance.length * 2);
+                distance = new long[length];
+                key = new long[length];
+                reached = new int[length];
+                settled = new int[length];
+                position = new int[length];
+                heap = new int[length];
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(reached, 0);
+                Arrays.fill(settled, 0);
+                epoch = 1;
+            }
+            size = 0;
+            settledCount = 0;
+        }
+
+        private long topKey() {
+            return key[heap[0]];
+        }
+
+        private long settle() {
+            final int node = heap[0];
+            final int last = heap[--size];
+            if (size > 0) {
+                heap[0] = last;
+                position[last] = 0;
+                down(0);
+            }
+            settled[node] = epoch;
+            settledCount++;
+            long best = other.through(node, distance[node]);
+            final long d = distance[node];
+            for (int i = adjacency.baseStart(node), limit = adjacency.baseEnd(node); i < limit; i++) {
+                if (!adjacency.removed(i)) {
+                    best = Math.min(best, reach(adjacency.end(i), d + adjacency.weight(i)));
+                }
+            }
+            final int[] pairs = adjacency.delta(node);
+            for (int k = 0, count = adjacency.deltaSize[node]; k < count; k++) {
+                best = Math.min(best, reach(pairs[2 * k], d + pairs[2 * k + 1]));
+            }
+            return best;
+        }
+
+        private long through(final int node, final long d) {
+            return reached[node] == epoch ? d + distance[node] : UNREACHABLE;
+        }
+
+        private long reach(final int node, final long d) {
+            if (reached[node] != epoch) {
+                reached[node] = epoch;
+                distance[node] = d;
+                key[node] = 2 * d + sign * potential(node);
+                position[node] = size;
+                heap[size++] = node;
+                up(position[node]);
+            } else if (settled[node] != epoch && d < distance[node]) {
+                key[node] -= 2 * (distance[node] - d);
+                distance[node] = d;
+                up(position[node]);
+            }
+            return other.through(node, distance[node]);
+        }
+
+        private void up(int index) {
+            final int node = heap[index];
+            final long k = key[node];
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                final int above = heap[parent];
+                if (key[above] <= k) {
+                    break;
+                }
+                heap[index] = above;
+                position[above] = index;
+                index = parent;
+            }
+            heap[index] = node;
+            position[node] = index;
+        }
+
+        private void down(int index) {
+            final int node = heap[index];
+            final long k = key[node];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) {
+                    child++;
+                }
+                final int below = heap[child];
+                if (key[below] >= k) {
+                    break;
+                }
+                heap[index] = below;
+                position[below] = index;
+                index = child;
+            }
+            heap[index] = node;
+            position[node] = index;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.AbstractTypedGraph;
+import edu.uci.ics.jung.graph.DirectedGraph;
+import edu.uci.ics.jung.graph.MultiGraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static edu.uci.ics.jung.graph.util.EdgeType.DIRECTED;
+
+public final class CompactGraph extends AbstractTypedGraph<Node, Edge> implements DirectedGraph<Node, Edge>, MultiGraph<Node, Edge>, Versioned {
+
+    private final NameTable names;
+    final Adjacency out;
+    final Adjacency in;
+    private int edgeCount;
+    private long version;
+
+    public CompactGraph() {
+        this(new NameTable(), new Adjacency(), new Adjacency(), 0, 0);
+    }
+
+    CompactGraph(final NameTable names, final Adjacency out, final Adjacency in, final int edgeCount, final long version) {
+        super(DIRECTED);
+        this.names = names;
+        this.out = out;
+        this.in = in;
+        this.edgeCount = edgeCount;
+        this.version = version;
+    }
+
+    public CompactGraph copy() {
+        return new CompactGraph(names.copy(), out.copy(capacity()), in.copy(capacity()), edgeCount, version);
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public void advance(final long versions) {
+        version += versions;
+    }
+
+    public int id(final String name) {
+        return names.id(name);
+    }
+
+    public String name(final int id) {
+        return names.name(id);
+    }
+
+    public int capacity() {
+        return names.capacity();
+    }
+
+    boolean live(final int node) {
+        return names.live(node);
+    }
+
+    public boolean containsNode(final String name) {
+        return names.id(name) >= 0;
+    }
+
+    public boolean addNode(final String name) {
+        checkNotNull(name);
+        if (names.id(name) >= 0) {
+            return false;
+        }
+        names.add(name);
+        out.ensureCapacity(names.capacity());
+        in.ensureCapacity(names.capacity());
+        version++;
+        return true;
+    }
+
+    public boolean removeNode(final String name) {
+        final int node = names.id(name);
+        if (node < 0) {
+            return false;
+        }
+        for (int i = out.baseStart(node), end = out.baseEnd(node); i < end; i++) {
+            if (!out.removed(i)) {
+                detachIncoming(out.end(i), node, out.weight(i));
+            }
+        }
+        final int[] outgoing = out.delta(node);
+        for (int k = 0, size = out.deltaSize[node]; k < size; k++) {
+            detachIncoming(outgoing[2 * k], node, outgoing[2 * k + 1]);
+        }
+        for (int i = in.baseStart(node), end = in.baseEnd(node); i < end; i++) {
+            if (!in.removed(i)) {
+                detachOutgoing(in.end(i), node, in.weight(i));
+            }
+        }
+        final int[] incoming = in.delta(node);
+        for (int k = 0, size = in.deltaSize[node]; k < size; k++) {
+            detachOutgoing(incoming[2 * k], node, incoming[2 * k + 1]);
+        }
+        out.clear(node);
+        in.clear(node);
+        names.remove(node);
+        version++;
+        compactIfFragmented();
+        return true;
+    }
+
+    public boolean containsEdge(final int start, final int end, final int weight) {
+        return out.contains(start, end, weight);
+    }
+
+    public boolean addEdge(final int start, final int end, final int weight) {
+        if (out.contains(start, end, weight)) {
+            return false;
+        }
+        out.add(start, end, weight);
+        in.add(end, start, weight);
+        edgeCount++;
+        version++;
+        compactIfFragmented();
+        return true;
+    }
+
+    public int removeEdges(final int start, final int end) {
+        int removed = 0;
+        for (int i = out.baseStart(start), last = out.baseEnd(start); i < last; i++) {
+            if (out.end(i) == end && !out.removed(i)) {
+                out.tombstone(i);
+                in.remove(end, start, out.weight(i));
+                removed++;
+            }
+        }
+        final int[] pairs = out.delta(start);
+        for (int k = out.deltaSize[start] - 1; k >= 0; k--) {
+            if (pairs[2 * k] == end) {
+                in.remove(end, start, pairs[2 * k + 1]);
+                out.removeDelta(start, k);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            edgeCount -= removed;
+            version++;
+            compactIfFragmented();
+        }
+        return removed;
+    }
+
+    private void detachIncoming(final int end, final int node, final int weight) {
+        if (end != node) {
+            in.remove(end, node, weight);
+        }
+        edgeCount--;
+    }
+
+    private void detachOutgoing(final int start, final int node, final int weight) {
+        if (start != node) {
+            out.remove(start, node, weight);
+            edgeCount--;
+        }
+    }
+
+    private void compactIfFragmented() {
+        if (out.fragmented(edgeCount) || in.fragmented(edgeCount)) {
+            out.compact(names.capacity());
+            in.compact(names.capacity());
+        }
+    }
+
+    private List<Edge> edges(final Adjacency adjacency, final int node, final boolean outgoing) {
+        final List<Edge> edges = new ArrayList<>();
+        final String name = names.name(node);
+        for (int i = adjacency.baseStart(node), end = adjacency.baseEnd(node); i < end; i++) {
+            if (!adjacency.removed(i)) {
+                edges.add(edge(name, names.name(adjacency.end(i)), adjacency.weight(i), outgoing));
+            }
+        }
+        final int[] pairs = adjacency.delta(node);
+        for (int k = 0, size = adjacency.deltaSize[node]; k < size; k++) {
+            edges.add(edge(name, names.name(pairs[2 * k]), pairs[2 * k + 1], outgoing));
+        }
+        return edges;
+    }
+
+    private static Edge edge(final String node, final String other, final int weight, final boolean outgoing) {
+        return outgoing ? new Edge(weight, node, other) : new Edge(weight, other, node);
+    }
+
+    @Override
+    public Collection<Edge> getEdges() {
+        final List<Edge> edges = new ArrayList<>(edgeCount);
+        for (int node = 0; node < names.capacity(); node++) {
+            if (names.live(node)) {
+                edges.addAll(edges(out, node, true));
+            }
+        }
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public Collection<Node> getVertices() {
+        final List<Node> vertices = new ArrayList<>(names.size());
+        for (int node = 0; node < names.capacity(); node++) {
+            if (names.live(node)) {
+                vertices.add(new Node(names.name(node)));
+            }
+        }
+        return Collections.unmodifiableList(vertices);
+    }
+
+    @Override
+    public boolean containsVertex(final Node vertex) {
+        return containsNode(vertex.name);
+    }
+
+    @Override
+    public boolean containsEdge(final Edge edge) {
+        final int start = names.id(edge.start);
+        final int end = names.id(edge.end);
+        return start >= 0 && end >= 0 && containsEdge(start, end, edge.weight);
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return names.size();
+    }
+
+    @Override
+    public Collection<Edge> getInEdges(final Node vertex) {
+        final int node = names.id(vertex.name);
+        return node < 0 ? null : Collections.unmodifiableList(edges(in, node, false));
+    }
+
+    @Override
+    public Collection<Edge> getOutEdges(final Node vertex) {
+        final int node = names.id(vertex.name);
+        return node < 0 ? null : Collections.unmodifiableList(edges(out, node, true));
+    }
+
+    @Override
+    public Collection<Node> getPredecessors(final Node vertex) {
+        final Collection<Edge> edges = getInEdges(vertex);
+        if (edges == null) {
+            return null;
+        }
+        final Set<Node> predecessors = new HashSet<>();
+        for (final Edge edge : edges) {
+            predecessors.add(new Node(edge.start));
+        }
+        return predecessors;
+    }
+
+    @Override
+    public Collection<Node> getSuccessors(final Node vertex) {
+        final Collection<Edge> edges = getOutEdges(vertex);
+        if (edges == null) {
+            return null;
+        }
+        final Set<Node> successors = new HashSet<>();
+        for (final Edge edge : edges) {
+            successors.add(new Node(edge.end));
+        }
+        return successors;
+    }
+
+    @Override
+    public Collection<Node> getNeighbors(final Node vertex) {
+        final Collection<Node> neighbors = getPredecessors(vertex);
+        if (neighbors != null) {
+            neighbors.addAll(getSuccessors(vertex));
+        }
+        return neighbors;
+    }
+
+    @Override
+    public Collection<Edge> getIncidentEdges(final Node vertex) {
+        final Collection<Edge> incoming = getInEdges(vertex);
+        if (incoming == null) {
+            return null;
+        }
+        final Set<Edge> incident = new HashSet<>(incoming);
+        incident.addAll(getOutEdges(vertex));
+        return incident;
+    }
+
+    @Override
+    public Node getSource(final Edge edge) {
+        return containsEdge(edge) ? new Node(edge.start) : null;
+    }
+
+    @Override
+    public Node getDest(final Edge edge) {
+        return containsEdge(edge) ? new Node(edge.end) : null;
+    }
+
+    @Override
+    public boolean isSource(final Node vertex, final Edge edge) {
+        return containsVertex(vertex) && vertex.equals(getSource(edge));
+    }
+
+    @Override
+    public boolean isDest(final Node vertex, final Edge edge) {
+        return containsVertex(vertex) && vertex.equals(getDest(edge));
+    }
+
+    @Override
+    public Pair<Node> getEndpoints(final Edge edge) {
+        return containsEdge(edge) ? new Pair<>(new Node(edge.start), new Node(edge.end)) : null;
+    }
+
+    @Override
+    public boolean addVertex(final Node vertex) {
+        checkNotNull(vertex);
+        return addNode(vertex.name);
+    }
+
+    @Override
+    public boolean removeVertex(final Node vertex) {
+        return removeNode(vertex.name);
+    }
+
+    @Override
+    public boolean addEdge(final Edge edge, final Pair<? extends Node> endpoints, final EdgeType edgeType) {
+        validateEdgeType(edgeType);
+        checkNotNull(edge);
+        checkArgument(
+                edge.start.equals(endpoints.getFirst().name) && edge.end.equals(endpoints.getSecond().name),
+                "Edge %s does not connect %s", edge, endpoints
+        );
+        addNode(edge.start);
+        addNode(edge.end);
+        return addEdge(names.id(edge.start), names.id(edge.end), edge.weight);
+    }
+
+    @Override
+    public boolean removeEdge(final Edge edge) {
+        final int start = names.id(edge.start);
+        final int end = names.id(edge.end);
+        if (start < 0 || end < 0 || !out.remove(start, end, edge.weight)) {
+            return false;
+        }
+        in.remove(end, start, edge.weight);
+        edgeCount--;
+        version++;
+        compactIfFragmented();
+        return true;
+    }
+}
@@ -0,0 +1,472 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static com.collibra.codingchallenge.graphs.Dijkstra.UNREACHABLE;
+
+public final class ContractionHierarchy implements GraphIndex {
+
+    private static final int WITNESS_SETTLED = 64;
+    private static final int ESTIMATE_SETTLED = 16;
+    private static final int CORE_DEGREE = 32;
+
+    private static final ThreadLocal<Heap[]> SCRATCH = ThreadLocal.withInitial(() -> new Heap[]{new Heap(), new Heap()});
+
+    private final CompactGraph graph;
+    private final long version;
+    private final int[] upOffsets;
+    private final int[] upEnds;
+    private final int[] upWeights;
+    private final int[] downOffsets;
+    private final int[] downEnds;
+    private final int[] downWeights;
+    private final boolean[] core;
+
+    private ContractionHierarchy(final CompactGraph graph, final long version, final int[][] up, final int[][] down,
+                                 final boolean[] core) {
+        this.graph = graph;
+        this.version = version;
+        this.core = core;
+        this.upOffsets = up[0];
+        this.upEnds = up[1];
+        this.upWeights = up[2];
+        this.downOffsets = down[0];
+        this.downEnds = down[1];
+        this.downWeights = down[2];
+    }
+
+    public static Supplier<ContractionHierarchy> prepare(final CompactGraph graph) {
+        final int capacity = graph.capacity();
+        final long version = graph.version();
+        final Adjacency out = graph.out.copy(capacity);
+        return () -> new Contraction(out, capacity).build(graph, version);
+    }
+
+    @Override
+    public boolean current(final CompactGraph graph) {
+        return this.graph == graph && version == graph.version();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    long distance(final int start, final int end) {
+        if (start == end) {
+            return 0;
+        }
+        final int capacity = upOffsets.length - 1;
+        final Heap[] heaps = SCRATCH.get();
+        final Heap forward = heaps[0].reset(capacity);
+        final Heap backward = heaps[1].reset(capacity);
+        reach(forward, start, 0);
+        reach(backward, end, 0);
+        long best = UNREACHABLE;
+        while (forward.size > 0 || backward.size > 0) {
+            final boolean up = forward.size > 0 && (backward.size == 0 || forward.top() <= backward.top());
+            final Heap search = up ? forward : backward;
+            if (search.top() >= best) {
+                search.size = 0;
+                continue;
+            }
+            best = settle(search, up ? backward : forward, up, best);
+        }
+        if (forward.parked == 0 || backward.parked == 0) {
+            return best;
+        }
+        forward.unpark();
+        backward.unpark();
+        while (forward.size > 0 || backward.size > 0) {
+            if ((forward.size > 0 ? forward.top() : 0) + (backward.size > 0 ? backward.top() : 0) >= best) {
+                break;
+            }
+            final boolean up = forward.size > 0 && (backward.size == 0 || forward.top() <= backward.top());
+            best = settle(up ? forward : backward, up ? backward : forward, up, best);
+        }
+        return best;
+    }
+
+    private long settle(final Heap search, final Heap other, final boolean up, final long best) {
+        final int node = search.pop();
+        final long d = search.key[node];
+        final long through = other.reached(node) ? Math.min(best, d + other.key[node]) : best;
+        if (!core[node] && stalled(search, node, d, up ? downOffsets : upOffsets, up ? downEnds : upEnds, up ? downWeights : upWeights)) {
+            return through;
+        }
+        final int[] offsets = up ? upOffsets : downOffsets;
+        final int[] ends = up ? upEnds : downEnds;
+        final int[] weights = up ? upWeights : downWeights;
+        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+            if (core[node]) {
+                search.offer(ends[i], d + weights[i]);
+            } else {
+                reach(search, ends[i], d + weights[i]);
+            }
+        }
+        return through;
+    }
+
+    private void reach(final Heap search, final int node, final long d) {
+        if (core[node]) {
+            search.park(node, d);
+        } else {
+            search.offer(node, d);
+        }
+    }
+
+    private static boolean stalled(final Heap search, final int node, final long d,
+                                   final int[] offsets, final int[] ends, final int[] weights) {
+        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+            if (search.reached(ends[i]) && search.key[ends[i]] + weights[i] < d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Contraction {
+
+        private final int capacity;
+        private final int[][] outEnds;
+        private final int[][] outWeights;
+        private final int[] outSize;
+        private final int[][] inEnds;
+        private final int[][] inWeights;
+        private final int[] inSize;
+        private final int[][] up;
+        private final int[][] down;
+        private final int[] deleted;
+        private final int[] level;
+        private long edges;
+        private final Heap witness = new Heap();
+        private final Heap order = new Heap();
+
+        private Contraction(final Adjacency out, final int capacity) {
+            this.capacity = capacity;
+            outEnds = new int[capacity][];
+            outWeights = new int[capacity][];
+            outSize = new int[capacity];
+            inEnds = new int[capacity][];
+            inWeights = new int[capacity][];
+            inSize = new int[capacity];
+            up = new int[capacity][];
+            down = new int[capacity][];
+            deleted = new int[capacity];
+            level = new int[capacity];
+            for (int node = 0; node < capacity; node++) {
+                for (int i = out.baseStart(node), end = out.baseEnd(node); i < end; i++) {
+                    if (out.end(i) != node) {
+                        connect(node, out.end(i), out.weight(i));
+                    }
+                }
+            }
+        }
+
+        private ContractionHierarchy build(final CompactGraph graph, final long version) {
+            witness.reset(capacity);
+            order.reset(capacity);
+            for (int node = 0; node < capacity; node++) {
+                order.offer(node, priority(node));
+            }
+            while (order.size > 0 && edges <= (long) CORE_DEGREE * order.size) {
+                final int node = order.pop();
+                final long priority = priority(node);
+                if (order.size > 0 && priority > order.top()) {
+                    order.push(node, priority);
+                    continue;
+                }
+                contract(node);
+            }
+            final boolean[] core = new boolean[capacity];
+            while (order.size > 0) {
+                final int node = order.pop();
+                core[node] = true;
+                up[node] = pairs(outEnds[node], outWeights[node], outSize[node]);
+                down[node] = pairs(inEnds[node], inWeights[node], inSize[node]);
+            }
+            return new ContractionHierarchy(graph, version, flatten(up), flatten(down), core);
+        }
+
+        private void contract(final int node) {
+            shortcuts(node, true);
+            up[node] = pairs(outEnds[node], outWeights[node], outSize[node]);
+            down[node] = pairs(inEnds[node], inWeights[node], inSize[node]);
+            for (int k = 0; k < outSize[node]; k++) {
+                unlink(inEnds, inWeights, inSize, outEnds[node][k], node);
+            }
+            for (int k = 0; k < inSize[node]; k++) {
+                unlink(outEnds, outWeights, outSize, inEnds[node][k], node);
+            }
+            for (int k = 0; k < outSize[node]; k++) {
+                neighbourContracted(node, outEnds[node][k]);
+            }
+            for (int k = 0; k < inSize[node]; k++) {
+                neighbourContracted(node, inEnds[node][k]);
+            }
+            edges -= outSize[node] + inSize[node];
+            outEnds[node] = outWeights[node] = inEnds[node] = inWeights[node] = null;
+            outSize[node] = inSize[node] = 0;
+        }
+
+        private void neighbourContracted(final int node, final int neighbour) {
+            if (up[neighbour] == null) {
+                deleted[neighbour]++;
+                level[neighbour] = Math.max(level[neighbour], level[node] + 1);
+                order.update(neighbour, order.key[neighbour] + 1);
+            }
+        }
+
+        private long priority(final int node) {
+            return 2L * shortcuts(node, false) - outSize[node] - inSize[node] + deleted[node] + level[node];
+        }
+
+        private int shortcuts(final int node, final boolean add) {
+            int shortcuts = 0;
+            for (int i = 0; i < inSize[node]; i++) {
+                final int from = inEnds[node][i];
+                final long before = inWeights[node][i];
+                long longest = -1;
+                for (int j = 0; j < outSize[node]; j++) {
+                    if (outEnds[node][j] != from) {
+                        longest = Math.max(longest, outWeights[node][j]);
+                    }
+                }
+                if (longest < 0) {
+                    continue;
+                }
+                witnesses(from, node, before + longest, add ? WITNESS_SETTLED : ESTIMATE_SETTLED);
+                for (int j = 0; j < outSize[node]; j++) {
+                    final int to = outEnds[node][j];
+                    final long through = before + outWeights[node][j];
+                    if (to != from && (!witness.reached(to) || witness.key[to] > through)) {
+                        shortcuts++;
+                        if (add) {
+                            connect(from, to, (int) Math.min(through, Integer.MAX_VALUE));
+                        }
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        private void witnesses(final int start, final int avoided, final long bound, final int limit) {
+            witness.reset(capacity);
+            witness.offer(start, 0);
+            for (int settled = 0; witness.size > 0 && settled < limit && witness.top() <= bound; settled++) {
+                final int node = witness.pop();
+                final long d = witness.key[node];
+                for (int k = 0; k < outSize[node]; k++) {
+                    if (outEnds[node][k] != avoided) {
+                        witness.offer(outEnds[node][k], d + outWeights[node][k]);
+                    }
+                }
+            }
+        }
+
+        private void connect(final int from, final int to, final int weight) {
+            for (int k = 0; k < outSize[from]; k++) {
+                if (outEnds[from][k] == to) {
+                    if (weight < outWeights[from][k]) {
+                        outWeights[from][k] = weight;
+                        for (int j = 0; j < inSize[to]; j++) {
+                            if (inEnds[to][j] == from) {
+                                inWeights[to][j] = weight;
+                            }
+                        }
+                    }
+                    return;
+                }
+            }
+            append(outEnds, outWeights, outSize, from, to, weight);
+            append(inEnds, inWeights, inSize, to, from, weight);
+            edges++;
+        }
+
+        private static void append(final int[][] ends, final int[][] weights, final int[] sizes, final int node, final int end, final int weight) {
+            final int size = sizes[node];
+            if (ends[node] == null) {
+                ends[node] = new int[4];
+                weights[node] = new int[4];
+            } else if (size == ends[node].length) {
+                ends[node] = Arrays.copyOf(ends[node], 2 * size);
+                weights[node] = Arrays.copyOf(weights[node], 2 * size);
+            }
+            ends[node][size] = end;
+            weights[node][size] = weight;
+            sizes[node] = size + 1;
+        }
+
+        private static void unlink(final int[][] ends, final int[][] weights, final int[] sizes, final int node, final int end) {
+            for (int k = 0; k < sizes[node]; k++) {
+                if (ends[node][k] == end) {
+                    final int last = --sizes[node];
+                    ends[node][k] = ends[node][last];
+                    weights[node][k] = weights[node][last];
+                    return;
+                }
+            }
+        }
+
+        private static int[] pairs(final int[] ends, final int[] weights, final int size) {
+            final int[] pairs = new int[2 * size];
+            for (int k = 0; k < size; k++) {
+                pairs[2 * k] = ends[k];
+                pairs[2 * k + 1] = weights[k];
+            }
+            return pairs;
+        }
+
+        private int[][] flatten(final int[][] pairs) {
+            final int[] offsets = new int[capacity + 1];
+            for (int node = 0; node < capacity; node++) {
+                offsets[node + 1] = offsets[node] + pairs[node].length / 2;
+            }
+            final int[] ends = new int[offsets[capacity]];
+            final int[] weights = new int[offsets[capacity]];
+            for (int node = 0; node < capacity; node++) {
+                for (int k = 0, at = offsets[node]; at < offsets[node + 1]; k += 2, at++) {
+                    ends[at] = pairs[node][k];
+                    weights[at] = pairs[node][k + 1];
+                }
+                pairs[node] = null;
+            }
+            return new int[][]{offsets, ends, weights};
+        }
+    }
+
+    private static final class Heap {
+
+        private long[] key = new long[0];
+        private int[] heap = new int[0];
+        private int[] position = new int[0];
+        private int[] reached = new int[0];
+        private int[] parking = new int[0];
+        private int size;
+        private int parked;
+        private int epoch;
+
+        private Heap reset(final int capacity) {
+            if (capacity > key.length) {
+                final int length = Math.max(capacity, key.length * 2);
+                key = new long[length];
+                heap = new int[length];
+                position = new int[length];
+                reached = new int[length];
+                parking = new int[length];
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(reached, 0);
+                epoch = 1;
+            }
+            size = 0;
+            parked = 0;
+            return this;
+        }
+
+        private boolean reached(final int node) {
+            return reached[node] == epoch;
+        }
+
+        private long top() {
+            return key[heap[0]];
+        }
+
+        private void offer(final int node, final long candidate) {
+            if (reached[node] != epoch) {
+                reached[node] = epoch;
+                push(node, candidate);
+            } else if (position[node] >= 0 && candidate < key[node]) {
+                key[node] = candidate;
+                up(position[node]);
+            }
+        }
+
+        private void park(final int node, final long candidate) {
+            if (reached[node] != epoch) {
+                reached[node] = epoch;
+                key[node] = candidate;
+                position[node] = -1;
+                parking[parked++] = node;
+            } else if (candidate < key[node]) {
+                key[node] = candidate;
+            }
+        }
+
+        private void unpark() {
+            for (int i = 0; i < parked; i++) {
+                push(parking[i], key[parking[i]]);
+            }
+        }
+
+        private void push(final int node, final long candidate) {
+            key[node] = candidate;
+            position[node] = size;
+            heap[size++] = node;
+            up(size - 1);
+        }
+
+        private void update(final int node, final long candidate) {
+            final long previous = key[node];
+            key[node] = candidate;
+            if (candidate < previous) {
+                up(position[node]);
+            } else {
+                down(position[node]);
+            }
+        }
+
+        private int pop() {
+            final int node = heap[0];
+            final int last = heap[--size];
+            if (size > 0) {
+                heap[0] = last;
+                position[last] = 0;
+                down(0);
+            }
+            position[node] = -1;
+            return node;
+        }
+
+        private void up(int index) {
+            final int node = heap[index];
+            final long k = key[node];
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                final int above = heap[parent];
+                if (key[above] <= k) {
+                    break;
+                }
+                heap[index] = above;
+                position[above] = index;
+                index = parent;
+            }
+            heap[index] = node;
+            position[node] = index;
+        }
+
+        private void down(int index) {
+            final int node = heap[index];
+            final long k = key[node];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) {
+                    child++;
+                }
+                final int below = heap[child];
+                if (key[below] >= k) {
+                    break;
+                }
+                heap[index] = below;
+                position[below] = index;
+                index = child;
+            }
+            heap[index] = node;
+            position[node] = index;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.collibra.codingchallenge.graphs.Dijkstra.UNREACHABLE;
+
+final class DeltaStepping {
+
+    private static final int GRAIN = 1_024;
+    private static final int SAMPLE = 1_024;
+
+    private static final ThreadLocal<DeltaStepping> SCRATCH =
+            ThreadLocal.withInitial(() -> new DeltaStepping(ForkJoinPool.commonPool(), GRAIN));
+
+    private final ForkJoinPool pool;
+    private final int grain;
+
+    private AtomicLongArray distance = new AtomicLongArray(0);
+    private int[] mark = new int[0];
+    private int epoch;
+    private final Ints touched = new Ints();
+    private final TreeMap<Long, Ints> buckets = new TreeMap<>();
+
+    DeltaStepping(final ForkJoinPool pool, final int grain) {
+        this.pool = pool;
+        this.grain = grain;
+    }
+
+    static DeltaStepping scratch() {
+        return SCRATCH.get();
+    }
+
+    long distance(final CompactGraph graph, final int start, final int end) {
+        reset(graph.capacity());
+        try {
+            return search(graph.out, start, end, delta(graph));
+        } finally {
+            for (int i = 0; i < touched.size; i++) {
+                distance.set(touched.values[i], UNREACHABLE);
+            }
+        }
+    }
+
+    private long search(final Adjacency out, final int start, final int end, final long delta) {
+        distance.set(start, 0);
+        touched.add(start);
+        bucket(0).add(start);
+        while (!buckets.isEmpty()) {
+            final Map.Entry<Long, Ints> first = buckets.pollFirstEntry();
+            final long bucket = first.getKey();
+            final Ints settled = new Ints();
+            Ints frontier = frontier(first.getValue(), bucket, delta, settled);
+            while (frontier.size > 0) {
+                final Ints reached = relax(new Relax(out, frontier, 0, frontier.size, 0, delta));
+                final Ints again = new Ints();
+                spread(reached, bucket, delta, again);
+                frontier = frontier(again, bucket, delta, settled);
+            }
+            spread(relax(new Relax(out, settled, 0, settled.size, delta + 1, Long.MAX_VALUE)), bucket, delta, null);
+            final long d = distance.get(end);
+            if (d != UNREACHABLE && d / delta <= bucket) {
+                return d;
+            }
+        }
+        return distance.get(end);
+    }
+
+    private Ints relax(final Relax relax) {
+        return relax.to - relax.from > grain ? pool.invoke(relax) : relax.compute();
+    }
+
+    private Ints frontier(final Ints candidates, final long bucket, final long delta, final Ints settled) {
+        final int stamp = stamp();
+        final Ints frontier = new Ints();
+        for (int i = 0; i < candidates.size; i++) {
+            final int node = candidates.values[i];
+            if (mark[node] != stamp && distance.get(node) / delta == bucket) {
+                mark[node] = stamp;
+                frontier.add(node);
+                settled.add(node);
+            }
+        }
+        return frontier;
+    }
+
+    private void spread(final Ints reached, final long current, final long delta, final Ints again) {
+        for (int i = 0; i < reached.size; i++) {
+            final int node = reached.values[i];
+            if (mark[node] == 0) {
+                mark[node] = -1;
+                touched.add(node);
+            }
+            final long bucket = distance.get(node) / delta;
+            if (bucket == current && again != null) {
+                again.add(node);
+            } else {
+                bucket(bucket).add(node);
+            }
+        }
+    }
+
+    private Ints bucket(final long index) {
+        return buckets.computeIfAbsent(index, i -> new Ints());
+    }
+
+    private int stamp() {
+        if (++epoch == Integer.MAX_VALUE) {
+            for (int i = 0; i < touched.size; i++) {
+                mark[touched.values[i]] = -1;
+            }
+            epoch = 1;
+        }
+        return epoch;
+    }
+
+    private void reset(final int capacity) {
+        if (capacity > distance.length()) {
+            final int length = Math.max(capacity, distance.length() * 2);
+            distance = new AtomicLongArray(length);
+            for (int i = 0; i < length; i++) {
+                distance.set(i, UNREACHABLE);
+            }
+            mark = new int[length];
+        } else {
+            for (int i = 0; i < touched.size; i++) {
+                mark[touched.values[i]] = 0;
+            }
+        }
+        touched.size = 0;
+        buckets.clear();
+    }
+
+    private static long delta(final CompactGraph graph) {
+        final Adjacency out = graph.out;
+        final int edges = out.baseSize();
+        if (edges == 0) {
+            return 1;
+        }
+        int heaviest = 0;
+        for (int k = 0, step = Math.max(1, edges / SAMPLE); k < edges; k += step) {
+            heaviest = Math.max(heaviest, out.weight(k));
+        }
+        final long degree = Math.max(1, graph.getEdgeCount() / Math.max(1, graph.getVertexCount()));
+        return Math.max(1, heaviest / degree);
+    }
+
+    private final class Relax extends RecursiveTask<Ints> {
+
+        private final Adjacency out;
+        private final Ints nodes;
+        private final int from;
+        private final int to;
+        private final long lightest;
+        private final long heaviest;
+
+        private Relax(final Adjacency out, final Ints nodes, final int from, final int to, final long lightest, final long heaviest) {
+            this.out = out;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.lightest = lightest;
+            this.heaviest = heaviest;
+        }
+
+        @Override
+        protected Ints compute() {
+            if (to - from > grain) {
+                final int middle = (from + to) >>> 1;
+                final Relax right = new Relax(out, nodes, middle, to, lightest, heaviest);
+                right.fork();
+                final Ints reached = new Relax(out, nodes, from, middle, lightest, heaviest).compute();
+                return reached.addAll(right.join());
+            }
+            final Ints reached = new Ints();
+            for (int n = from; n < to; n++) {
+                final int node = nodes.values[n];
+                final long d = distance.get(node);
+                for (int i = out.baseStart(node), end = out.baseEnd(node); i < end; i++) {
+                    if (!out.removed(i)) {
+                        relax(out.end(i), d, out.weight(i), reached);
+                    }
+                }
+                final int[] pairs = out.delta(node);
+                for (int k = 0, size = out.deltaSize[node]; k < size; k++) {
+                    relax(pairs[2 * k], d, pairs[2 * k + 1], reached);
+                }
+            }
+            return reached;
+        }
+
+        private void relax(final int node, final long d, final int weight, final Ints reached) {
+            if (weight < lightest || weight > heaviest) {
+                return;
+            }
+            final long candidate = d + weight;
+            for (long known = distance.get(node); candidate < known; known = distance.get(node)) {
+                if (distance.compareAndSet(node, known, candidate)) {
+                    reached.add(node);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Ints {
+
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        private Ints addAll(final Ints other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(2 * values.length, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+
+final class Dijkstra {
+
+    static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private static final ThreadLocal<Dijkstra> SCRATCH = ThreadLocal.withInitial(Dijkstra::new);
+
+    private long[] distance = new long[0];
+    private int[] reached = new int[0];
+    private int[] settled = new int[0];
+    private int[] position = new int[0];
+    private int[] parent = new int[0];
+    private int[] heap = new int[0];
+    private int[] order = new int[0];
+    private int heapSize;
+    private int settledCount;
+    private int epoch;
+
+    static Dijkstra scratch() {
+        return SCRATCH.get();
+    }
+
+    long distance(final CompactGraph graph, final int start, final int end) {
+        search(graph, start, end, UNREACHABLE);
+        return settled[end] == epoch ? distance[end] : UNREACHABLE;
+    }
+
+    int search(final CompactGraph graph, final int start, final int target, final long bound) {
+        return search(graph.out, graph.capacity(), start, target, bound);
+    }
+
+    int search(final Adjacency adjacency, final int capacity, final int start, final int target, final long bound) {
+        reset(capacity);
+        reach(start, 0, -1);
+        while (heapSize > 0) {
+            final int node = heap[0];
+            final long d = distance[node];
+            if (d >= bound) {
+                break;
+            }
+            pop();
+            settled[node] = epoch;
+            order[settledCount++] = node;
+            if (node == target) {
+                break;
+            }
+            relax(adjacency, node, d);
+        }
+        return settledCount;
+    }
+
+    int settled(final int index) {
+        return order[index];
+    }
+
+    long distanceTo(final int node) {
+        return settled[node] == epoch ? distance[node] : UNREACHABLE;
+    }
+
+    int parentOf(final int node) {
+        return settled[node] == epoch ? parent[node] : -1;
+    }
+
+    private void relax(final Adjacency out, final int node, final long d) {
+        for (int i = out.baseStart(node), end = out.baseEnd(node); i < end; i++) {
+            if (!out.removed(i)) {
+                reach(out.end(i), d + out.weight(i), node);
+            }
+        }
+        final int[] pairs = out.delta(node);
+        for (int k = 0, size = out.deltaSize[node]; k < size; k++) {
+            reach(pairs[2 * k], d + pairs[2 * k + 1], node);
+        }
+    }
+
+    private void reach(final int node, final long d, final int from) {
+        if (reached[node] != epoch) {
+            reached[node] = epoch;
+            distance[node] = d;
+            parent[node] = from;
+            position[node] = heapSize;
+            heap[heapSize++] = node;
+            up(position[node]);
+        } else if (settled[node] != epoch && d < distance[node]) {
+            distance[node] = d;
+            parent[node] = from;
+            up(position[node]);
+        }
+    }
+
+    private void pop() {
+        final int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            down(0);
+        }
+    }
+
+    private void up(int index) {
+        final int node = heap[index];
+        final long d = distance[node];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            final int other = heap[parent];
+            if (distance[other] <= d) {
+                break;
+            }
+            heap[index] = other;
+            position[other] = index;
+            index = parent;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+
+    private void down(int index) {
+        final int node = heap[index];
+        final long d = distance[node];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && distance[heap[child + 1]] < distance[heap[child]]) {
+                child++;
+            }
+            final int other = heap[child];
+            if (distance[other] >= d) {
+                break;
+            }
+            heap[index] = other;
+            position[other] = index;
+            index = child;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+
+    private void reset(final int capacity) {
+        if (capacity > distance.length) {
+            final int length = Math.max(capacity, distance.length * 2);
+            distance = new long[length];
+            reached = new int[length];
+            settled = new int[length];
+            position = new int[length];
+            parent = new int[length];
+            heap = new int[length];
+            order = new int[length];
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            epoch = 1;
+        }
+        heapSize = 0;
+        settledCount = 0;
+    }
+}
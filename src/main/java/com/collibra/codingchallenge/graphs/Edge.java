@@ -1,14 +1,37 @@
 package com.collibra.codingchallenge.graphs;
 
-import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-@RequiredArgsConstructor
-@EqualsAndHashCode
-@ToString
+import java.util.Objects;
+
+@ToString(exclude = "hash")
 public class Edge {
     public final int weight;
     public final String start;
     public final String end;
+    private final int hash;
+
+    public Edge(final int weight, final String start, final String end) {
+        this.weight = weight;
+        this.start = start;
+        this.end = end;
+        this.hash = (31 * weight + Objects.hashCode(start)) * 31 + Objects.hashCode(end);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Edge)) {
+            return false;
+        }
+        final Edge other = (Edge) o;
+        return hash == other.hash && weight == other.weight && Objects.equals(start, other.start) && Objects.equals(end, other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
 }
@@ -0,0 +1,325 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static edu.uci.ics.jung.graph.util.EdgeType.DIRECTED;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.file.StandardOpenOption.READ;
+
+public final class EdgeList {
+
+    private static final int WINDOW = 1 << 28;
+    private static final int MAX_LINE = 1 << 16;
+    private static final int MAX_EXPECTED_EDGES = 1 << 16;
+
+    private final Interner interner;
+    private int[] starts;
+    private int[] ends;
+    private int[] weights;
+    private int size;
+
+    private EdgeList(final int expectedEdges) {
+        interner = new Interner(expectedEdges / 4);
+        starts = new int[Math.max(16, expectedEdges)];
+        ends = new int[starts.length];
+        weights = new int[starts.length];
+    }
+
+    public static EdgeList read(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final long length = channel.size();
+            final EdgeList edges = new EdgeList((int) Math.min(length / 16, MAX_EXPECTED_EDGES));
+            final Lines lines = edges.new Lines(file);
+            long position = 0;
+            while (position < length) {
+                final long size = Math.min(WINDOW, length - position);
+                final MappedByteBuffer window = channel.map(READ_ONLY, position, size);
+                final boolean last = position + size == length;
+                final int consumed = lines.read(window, (int) size, last);
+                if (consumed == 0) {
+                    throw new IOException(format("Line %d in %s is too long", lines.number + 1, file));
+                }
+                position += consumed;
+            }
+            return edges;
+        }
+    }
+
+    public int nodes() {
+        return interner.size;
+    }
+
+    public int edges() {
+        return size;
+    }
+
+    public CompactGraph compactGraph(final long version) {
+        final NameTable names = new NameTable(interner.size);
+        for (int node = 0; node < interner.size; node++) {
+            names.add(interner.name(node));
+        }
+        final int capacity = names.capacity();
+        final int[] counts = new int[capacity + 1];
+        for (int i = 0; i < size; i++) {
+            counts[starts[i] + 1]++;
+        }
+        for (int node = 0; node < capacity; node++) {
+            counts[node + 1] += counts[node];
+        }
+        final long[] packed = new long[size];
+        final int[] next = Arrays.copyOf(counts, capacity);
+        for (int i = 0; i < size; i++) {
+            packed[next[starts[i]]++] = (long) ends[i] << 32 | weights[i];
+        }
+        final int[] outOffsets = new int[capacity + 1];
+        int unique = 0;
+        for (int node = 0; node < capacity; node++) {
+            Arrays.sort(packed, counts[node], counts[node + 1]);
+            for (int i = counts[node]; i < counts[node + 1]; i++) {
+                if (i == counts[node] || packed[i] != packed[i - 1]) {
+                    packed[unique++] = packed[i];
+                }
+            }
+            outOffsets[node + 1] = unique;
+        }
+        final int[] outEnds = new int[unique];
+        final int[] outWeights = new int[unique];
+        for (int i = 0; i < unique; i++) {
+            outEnds[i] = (int) (packed[i] >>> 32);
+            outWeights[i] = (int) packed[i];
+        }
+        final Adjacency out = new Adjacency();
+        final Adjacency in = new Adjacency();
+        out.load(capacity, outOffsets, outEnds, outWeights);
+        in.loadTransposed(capacity, outOffsets, outEnds, outWeights);
+        return new CompactGraph(names, out, in, unique, version + names.size() + unique);
+    }
+
+    public <G extends Graph<Node, Edge>> G into(final G graph) {
+        final Node[] nodes = new Node[interner.size];
+        for (int node = 0; node < nodes.length; node++) {
+            final Node vertex = new Node(interner.name(node));
+            nodes[node] = graph.addVertex(vertex) ? vertex : GraphOps.node(graph, vertex.name);
+        }
+        for (int i = 0; i < size; i++) {
+            final Node start = nodes[starts[i]];
+            final Node end = nodes[ends[i]];
+            final Edge edge = new Edge(weights[i], start.name, end.name);
+            if (!graph.containsEdge(edge)) {
+                graph.addEdge(edge, start, end, DIRECTED);
+            }
+        }
+        return graph;
+    }
+
+    private void add(final int start, final int end, final int weight) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, 2 * size);
+            ends = Arrays.copyOf(ends, 2 * size);
+            weights = Arrays.copyOf(weights, 2 * size);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        weights[size++] = weight;
+    }
+
+    private final class Lines {
+
+        private final Path file;
+        private final byte[] token = new byte[MAX_LINE];
+        private final int[] ids = new int[2];
+        private int number;
+
+        private Lines(final Path file) {
+            this.file = file;
+        }
+
+        private int read(final MappedByteBuffer window, final int size, final boolean last) throws IOException {
+            int start = 0;
+            while (start < size) {
+                int end = start;
+                while (end < size && window.get(end) != '\n') {
+                    end++;
+                }
+                if (end == size && !last) {
+                    break;
+                }
+                if (end - start > MAX_LINE) {
+                    throw new IOException(format("Line %d in %s is too long", number + 1, file));
+                }
+                number++;
+                line(window, start, end);
+                start = end + 1;
+            }
+            return Math.min(start, size);
+        }
+
+        private void line(final MappedByteBuffer window, final int from, final int to) throws IOException {
+            int at = skipSpace(window, from, to);
+            if (at == to || window.get(at) == '#') {
+                return;
+            }
+            int tokens = 0;
+            int weight = -1;
+            while (at < to) {
+                int end = at;
+                while (end < to && !space(window.get(end))) {
+                    end++;
+                }
+                if (tokens < 2) {
+                    ids[tokens] = node(window, at, end);
+                } else if (tokens == 2) {
+                    weight = weight(window, at, end);
+                } else {
+                    throw malformed();
+                }
+                tokens++;
+                at = skipSpace(window, end, to);
+            }
+            if (tokens == 2) {
+                throw malformed();
+            }
+            if (tokens == 3) {
+                add(ids[0], ids[1], weight);
+            }
+        }
+
+        private int node(final MappedByteBuffer window, final int from, final int to) throws IOException {
+            final int length = to - from;
+            for (int i = 0; i < length; i++) {
+                final byte b = window.get(from + i);
+                if (!(b == '-' || (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z'))) {
+                    throw malformed();
+                }
+                token[i] = b;
+            }
+            return interner.id(token, length);
+        }
+
+        private int weight(final MappedByteBuffer window, final int from, final int to) throws IOException {
+            int weight = 0;
+            for (int i = from; i < to; i++) {
+                final int digit = window.get(i) - '0';
+                if (digit < 0 || digit > 9 || weight > (Integer.MAX_VALUE - digit) / 10) {
+                    throw malformed();
+                }
+                weight = weight * 10 + digit;
+            }
+            return weight;
+        }
+
+        private IOException malformed() {
+            return new IOException(format("Line %d in %s is not a node or a weighted edge", number, file));
+        }
+
+        private int skipSpace(final MappedByteBuffer window, int at, final int to) {
+            while (at < to && space(window.get(at))) {
+                at++;
+            }
+            return at;
+        }
+
+        private boolean space(final byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+    }
+
+    private static final class Interner {
+
+        private long[] slots;
+        private int[] hashes;
+        private int[] offsets;
+        private byte[] bytes;
+        private int used;
+        private int size;
+
+        private Interner(final int expected) {
+            final int length = Math.max(16, Integer.highestOneBit(Math.max(1, expected) - 1) << 1);
+            slots = new long[2 * length];
+            hashes = new int[length];
+            offsets = new int[length + 1];
+            bytes = new byte[8 * length];
+        }
+
+        private int id(final byte[] name, final int length) {
+            int code = 0;
+            for (int i = 0; i < length; i++) {
+                code = 31 * code + name[i];
+            }
+            final int hash = mix(code);
+            final int mask = slots.length - 1;
+            int i = hash & mask;
+            for (long slot = slots[i]; slot != 0; slot = slots[i]) {
+                final int id = (int) slot - 1;
+                if ((int) (slot >>> 32) == hash && equal(id, name, length)) {
+                    return id;
+                }
+                i = (i + 1) & mask;
+            }
+            return add(name, length, hash, i);
+        }
+
+        private int add(final byte[] name, final int length, final int hash, final int slot) {
+            final int id = size++;
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, 2 * size);
+                offsets = Arrays.copyOf(offsets, 2 * size + 1);
+            }
+            if (used + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, used + length));
+            }
+            System.arraycopy(name, 0, bytes, used, length);
+            used += length;
+            offsets[id + 1] = used;
+            hashes[id] = hash;
+            slots[slot] = (long) hash << 32 | (id + 1);
+            if (2 * size > slots.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private String name(final int id) {
+            return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], ISO_8859_1);
+        }
+
+        private boolean equal(final int id, final byte[] name, final int length) {
+            final int offset = offsets[id];
+            if (offsets[id + 1] - offset != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[offset + i] != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash() {
+            slots = new long[2 * slots.length];
+            final int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int i = hashes[id] & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = (long) hashes[id] << 32 | (id + 1);
+            }
+        }
+
+        private static int mix(final int code) {
+            int h = (code ^ (code >>> 16)) * 0x85EBCA6B;
+            h = (h ^ (h >>> 13)) * 0xC2B2AE35;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.collibra.codingchallenge.graphs;
+
+public interface GraphIndex {
+
+    boolean current(CompactGraph graph);
+
+    long version();
+}
@@ -1,37 +1,68 @@
 package com.collibra.codingchallenge.graphs;
 
-import edu.uci.ics.jung.algorithms.filters.VertexPredicateFilter;
-import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
-import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
 import edu.uci.ics.jung.graph.Graph;
-import org.apache.commons.collections15.Predicate;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
+import static com.collibra.codingchallenge.logging.Logging.logger;
+import static com.google.common.base.Preconditions.checkArgument;
 import static edu.uci.ics.jung.graph.util.EdgeType.DIRECTED;
+import static java.util.Comparator.comparingLong;
 import static java.util.Comparator.naturalOrder;
 import static java.util.stream.Collectors.toList;
 
 public final class GraphOps {
 
+    private static final int PARALLEL_EDGES = Integer.getInteger("collibra.sssp.parallel.edges", 1_000_000);
+
     public static Graph<Node, Edge> graph() {
-        return new DirectedSparseMultigraph<>();
+        return new VersionedGraph();
+    }
+
+    public static Graph<Node, Edge> graph(final long version) {
+        return new VersionedGraph(version);
+    }
+
+    public static PersistentGraph persistentGraph() {
+        return new PersistentGraph();
+    }
+
+    public static PersistentGraph persistentGraph(final long version) {
+        return new PersistentGraph(version);
+    }
+
+    public static CompactGraph compactGraph() {
+        return new CompactGraph();
+    }
+
+    public static long version(final Graph<Node, Edge> graph) {
+        checkArgument(graph instanceof Versioned, "Graph %s is not versioned", graph.getClass());
+        return ((Versioned) graph).version();
+    }
+
+    public static void advance(final Graph<Node, Edge> graph, final long versions) {
+        checkArgument(graph instanceof Versioned, "Graph %s is not versioned", graph.getClass());
+        ((Versioned) graph).advance(versions);
     }
 
     public static Node node(final String id) {
         return new Node(id);
     }
 
+    static Node node(final Graph<Node, Edge> graph, final String id) {
+        final Node interned = graph instanceof Interning ? ((Interning) graph).interned(id) : null;
+        return interned != null ? interned : node(id);
+    }
+
     static Edge edge(final int weight, final String start, final String end) {
         return new Edge(weight, start, end);
     }
 
     public static boolean addNode(final Graph<Node, Edge> graph, final String node) {
 
-        final boolean added = graph.addVertex(node(node));
+        final boolean added = graph.addVertex(node(graph, node));
 
         if (!added) {
             LOGGER.info("Node not added - {}", node);
@@ -42,7 +73,7 @@ public final class GraphOps {
 
     public static boolean removeNode(final Graph<Node, Edge> graph, final String node) {
 
-        final boolean removed = graph.removeVertex(node(node));
+        final boolean removed = graph.removeVertex(node(graph, node));
 
         if (!removed) {
             LOGGER.info("Node not removed - {}", node);
@@ -54,21 +85,23 @@ public final class GraphOps {
 
     public static boolean addEdge(final Graph<Node, Edge> graph, final int weight, final String start, final String end) {
 
-        if (!containsNode(graph, start)) {
+        final Node st = node(graph, start);
+        if (!graph.containsVertex(st)) {
             LOGGER.info("Starting node not found - '{}'", start);
             return false;
         }
-        if (!containsNode(graph, end)) {
+        final Node en = node(graph, end);
+        if (!graph.containsVertex(en)) {
             LOGGER.info("Ending node not found - '{}'", end);
             return false;
         }
 
-        final Edge e = new Edge(weight, start, end);
+        final Edge e = new Edge(weight, st.name, en.name);
 
         if (containsEdge(graph, e)) {
             LOGGER.info("Edge already exists - {}", e);
         } else {
-            graph.addEdge(e, node(start), node(end), DIRECTED);
+            graph.addEdge(e, st, en, DIRECTED);
         }
 
         return true;
@@ -85,8 +118,16 @@ public final class GraphOps {
             return false;
         }
 
-        final List<Edge> edges = graph.getEdges().stream().filter(
-                edge -> edge.start.equals(start) && edge.end.equals(end)
+        if (graph instanceof CompactGraph) {
+            final CompactGraph compact = (CompactGraph) graph;
+            if (compact.removeEdges(compact.id(start), compact.id(end)) == 0) {
+                LOGGER.info("No edge between {} and {} end remove", start, end);
+            }
+            return true;
+        }
+
+        final List<Edge> edges = graph.getOutEdges(node(graph, start)).stream().filter(
+                edge -> edge.end.equals(end)
         ).collect(toList());
 
         if (edges.isEmpty()) {
@@ -106,6 +147,11 @@ public final class GraphOps {
 
 
     public static Optional<Integer> shortestPath(final Graph<Node, Edge> graph, final String start, final String end) {
+        return shortestPath(graph, start, end, null);
+    }
+
+    public static Optional<Integer> shortestPath(final Graph<Node, Edge> graph, final String start, final String end,
+                                                 final GraphIndex index) {
 
         if (!containsNode(graph, start)) {
             LOGGER.info("Starting node not found - '{}'", start);
@@ -116,53 +162,174 @@ public final class GraphOps {
             return Optional.empty();
         }
 
-        final DijkstraShortestPath<Node, Edge> shortestPath = new DijkstraShortestPath<>(graph, e -> e.weight);
-        final Number distance = shortestPath.getDistance(node(start), node(end));
+        if (graph instanceof CompactGraph) {
+            final CompactGraph compact = (CompactGraph) graph;
+            if (index instanceof ContractionHierarchy && index.current(compact)) {
+                return Optional.of(weight(((ContractionHierarchy) index).distance(compact.id(start), compact.id(end))));
+            }
+            final Landmarks landmarks = index instanceof Landmarks ? (Landmarks) index : null;
+            final boolean parallel = compact.getEdgeCount() >= PARALLEL_EDGES && (landmarks == null || !landmarks.current(compact));
+            final long distance = parallel
+                    ? DeltaStepping.scratch().distance(compact, compact.id(start), compact.id(end))
+                    : BidirectionalDijkstra.scratch().distance(compact, compact.id(start), compact.id(end), landmarks);
+            return Optional.of(weight(distance));
+        }
 
-        final int weight = nodesConnected(distance) ? distance.intValue() : Integer.MAX_VALUE;
-        return Optional.of(weight);
+        return Optional.of(weight(distance(graph, node(graph, start), node(graph, end))));
     }
 
     public static Optional<List<String>> closerThan(final Graph<Node, Edge> graph, final int threshold, final String start) {
 
-        final Node st = node(start);
+        final Node st = node(graph, start);
 
         if (!graph.containsVertex(st)) {
             LOGGER.info("Starting node not found - '{}'", start);
             return Optional.empty();
         }
 
-        final DijkstraShortestPath<Node, Edge> shortestPath = new DijkstraShortestPath<>(graph, e -> e.weight);
+        final List<String> names = graph instanceof CompactGraph
+                ? closerThan((CompactGraph) graph, threshold, start)
+                : closerThan(graph, threshold, st);
+        names.sort(naturalOrder());
 
-        final Predicate<Node> closerThanThreshold =
-                n -> {
-                    if (n.equals(st)) {
-                        return false;
-                    }
-                    final Number distance = shortestPath.getDistance(st, n);
-                    final int weight = nodesConnected(distance) ? distance.intValue() : Integer.MAX_VALUE;
-                    return weight < threshold;
-                };
+        return Optional.of(names);
+    }
 
-        final VertexPredicateFilter<Node, Edge> nodeFilter = new VertexPredicateFilter<>(closerThanThreshold);
-        final Graph<Node, Edge> closerNodes = nodeFilter.transform(graph);
+    public static Optional<ShortestPathTree> shortestPathTree(final CompactGraph graph, final String start) {
 
-        final List<String> names = closerNodes.getVertices().stream().map(n -> n.name).sorted(naturalOrder()).collect(toList());
+        final int st = graph.id(start);
 
-        return Optional.of(names);
+        if (st < 0) {
+            LOGGER.info("Starting node not found - '{}'", start);
+            return Optional.empty();
+        }
+
+        return Optional.of(new ShortestPathTree(graph, st));
     }
 
-    private static boolean nodesConnected(final Number distance) {
-        return distance != null;
+    private static List<String> closerThan(final CompactGraph graph, final int threshold, final String start) {
+        final int st = graph.id(start);
+        final Dijkstra dijkstra = Dijkstra.scratch();
+        final int settled = dijkstra.search(graph, st, -1, threshold);
+        final List<String> names = new ArrayList<>(settled);
+        for (int i = 0; i < settled; i++) {
+            final int node = dijkstra.settled(i);
+            if (node != st) {
+                names.add(graph.name(node));
+            }
+        }
+        return names;
+    }
+
+    private static List<String> closerThan(final Graph<Node, Edge> graph, final int threshold, final Node start) {
+        final Map<Node, Long> distances = new HashMap<>();
+        final Set<Node> settled = new HashSet<>();
+        final PriorityQueue<Reached> queue = new PriorityQueue<>(comparingLong(r -> r.distance));
+        final List<String> names = new ArrayList<>();
+        distances.put(start, 0L);
+        queue.add(new Reached(start, 0));
+        while (!queue.isEmpty() && queue.peek().distance < threshold) {
+            final Reached reached = queue.poll();
+            if (!settled.add(reached.node)) {
+                continue;
+            }
+            if (!reached.node.equals(start)) {
+                names.add(reached.node.name);
+            }
+            for (final Edge edge : graph.getOutEdges(reached.node)) {
+                final Node next = graph.getDest(edge);
+                final long distance = reached.distance + edge.weight;
+                final Long known = distances.get(next);
+                if (known == null || distance < known) {
+                    distances.put(next, distance);
+                    queue.add(new Reached(next, distance));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static long distance(final Graph<Node, Edge> graph, final Node start, final Node end) {
+        if (start.equals(end)) {
+            return 0;
+        }
+        final Frontier forward = new Frontier(start, true);
+        final Frontier backward = new Frontier(end, false);
+        long best = Long.MAX_VALUE;
+        while (forward.next() && backward.next()) {
+            if (forward.top() + backward.top() >= best) {
+                break;
+            }
+            final Frontier search = forward.top() <= backward.top() ? forward : backward;
+            final Frontier other = search == forward ? backward : forward;
+            final Reached reached = search.queue.poll();
+            search.settled.add(reached.node);
+            for (final Edge edge : search.outgoing ? graph.getOutEdges(reached.node) : graph.getInEdges(reached.node)) {
+                final Node next = search.outgoing ? graph.getDest(edge) : graph.getSource(edge);
+                final long distance = reached.distance + edge.weight;
+                final Long meeting = other.distances.get(next);
+                if (search.reach(next, distance) && meeting != null) {
+                    best = Math.min(best, distance + meeting);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static final class Frontier {
+
+        final boolean outgoing;
+        final Map<Node, Long> distances = new HashMap<>();
+        final Set<Node> settled = new HashSet<>();
+        final PriorityQueue<Reached> queue = new PriorityQueue<>(comparingLong(r -> r.distance));
+
+        Frontier(final Node start, final boolean outgoing) {
+            this.outgoing = outgoing;
+            reach(start, 0);
+        }
+
+        boolean reach(final Node node, final long distance) {
+            final Long known = distances.get(node);
+            if (known != null && known <= distance) {
+                return false;
+            }
+            distances.put(node, distance);
+            queue.add(new Reached(node, distance));
+            return true;
+        }
+
+        boolean next() {
+            while (!queue.isEmpty() && settled.contains(queue.peek().node)) {
+                queue.poll();
+            }
+            return !queue.isEmpty();
+        }
+
+        long top() {
+            return queue.peek().distance;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Reached {
+        final Node node;
+        final long distance;
+    }
+
+    private static int weight(final long distance) {
+        return (int) Math.min(distance, Integer.MAX_VALUE);
     }
 
     static boolean containsNode(final Graph<Node, Edge> graph, final String node) {
-        return graph.containsVertex(node(node));
+        if (graph instanceof CompactGraph) {
+            return ((CompactGraph) graph).containsNode(node);
+        }
+        return graph.containsVertex(node(graph, node));
     }
 
     static boolean containsEdge(final Graph<Node, Edge> graph, final Edge edge) {
         return graph.containsEdge(edge);
     }
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(GraphOps.class);
+    private static final Logger LOGGER = logger(GraphOps.class);
 }
@@ -0,0 +1,334 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.*;
+
+import static edu.uci.ics.jung.graph.util.EdgeType.DIRECTED;
+import static java.lang.String.format;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public final class GraphSnapshot {
+
+    private static final int MAGIC = 0x32534743;
+    private static final int HEADER = 24;
+    private static final int BUFFER = 1 << 20;
+
+    private final ByteBuffer file;
+    private final int nodes;
+    private final int edges;
+    private final int nameBytes;
+    private final int slots;
+
+    private GraphSnapshot(final ByteBuffer file, final int nodes, final int edges, final int nameBytes, final int slots) {
+        this.file = file;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.nameBytes = nameBytes;
+        this.slots = slots;
+    }
+
+    public static void write(final Graph<Node, Edge> graph, final Path file) throws IOException {
+        final Rows rows = graph instanceof CompactGraph ? new CompactRows((CompactGraph) graph) : new GraphRows(graph);
+        final int nodes = rows.nodes();
+        final byte[][] names = new byte[nodes][];
+        final int[] slots = new int[Math.max(16, Integer.highestOneBit(Math.max(1, 2 * nodes) - 1) << 1)];
+        int nameBytes = 0;
+        for (int node = 0; node < nodes; node++) {
+            final String name = rows.name(node);
+            names[node] = name.getBytes(ISO_8859_1);
+            nameBytes += names[node].length;
+            int i = NameTable.hash(name) & (slots.length - 1);
+            while (slots[i] != 0) {
+                i = (i + 1) & (slots.length - 1);
+            }
+            slots[i] = node + 1;
+        }
+        int edges = 0;
+        for (int node = 0; node < nodes; node++) {
+            edges += rows.row(node, true);
+        }
+        try (final FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            final Output output = new Output(channel);
+            output.putInt(MAGIC).putInt(nodes).putInt(edges).putInt(nameBytes).putInt(slots.length).putInt(0);
+            int offset = 0;
+            output.putInt(offset);
+            for (final byte[] name : names) {
+                offset += name.length;
+                output.putInt(offset);
+            }
+            for (final byte[] name : names) {
+                output.put(name);
+            }
+            output.put(new byte[(4 - nameBytes % 4) % 4]);
+            for (final int slot : slots) {
+                output.putInt(slot);
+            }
+            output.putRows(rows, true);
+            output.putRows(rows, false);
+            output.drain();
+            channel.force(true);
+        }
+    }
+
+    public static GraphSnapshot read(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(format("Graph snapshot %s is too large to be mapped", file));
+            }
+            final ByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size()).order(LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+                throw new IOException(format("%s is not a graph snapshot", file));
+            }
+            final int nodes = buffer.getInt(4);
+            final int edges = buffer.getInt(8);
+            final int nameBytes = buffer.getInt(12);
+            final int slots = buffer.getInt(16);
+            final long expected = HEADER + 4L * (nodes + 1) + ((nameBytes + 3) & ~3) + 4L * slots + 2 * (4L * (nodes + 1) + 8L * edges);
+            if (nodes < 0 || edges < 0 || nameBytes < 0 || Integer.bitCount(slots) != 1 || buffer.capacity() != expected) {
+                throw new IOException(format("Graph snapshot %s is truncated", file));
+            }
+            return new GraphSnapshot(buffer, nodes, edges, nameBytes, slots);
+        }
+    }
+
+    public static boolean isSnapshot(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final ByteBuffer magic = ByteBuffer.allocate(4).order(LITTLE_ENDIAN);
+            return channel.read(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+
+    public int edges() {
+        return edges;
+    }
+
+    public CompactGraph map(final long version) {
+        final NameTable names = new NameTable(names());
+        return new CompactGraph(names, adjacency(true), adjacency(false), edges, version);
+    }
+
+    public <G extends Graph<Node, Edge>> G into(final G graph) {
+        final MappedNames names = names();
+        final Node[] named = new Node[nodes];
+        for (int node = 0; node < nodes; node++) {
+            final Node vertex = new Node(names.name(node));
+            named[node] = graph.addVertex(vertex) ? vertex : GraphOps.node(graph, vertex.name);
+        }
+        final int at = adjacencyAt(true);
+        final IntBuffer offsets = ints(at, nodes + 1);
+        final IntBuffer ends = ints(at + 4 * (nodes + 1), edges);
+        final IntBuffer weights = ints(at + 4 * (nodes + 1) + 4 * edges, edges);
+        for (int node = 0; node < nodes; node++) {
+            for (int i = offsets.get(node); i < offsets.get(node + 1); i++) {
+                final Node end = named[ends.get(i)];
+                graph.addEdge(new Edge(weights.get(i), named[node].name, end.name), named[node], end, DIRECTED);
+            }
+        }
+        return graph;
+    }
+
+    private MappedNames names() {
+        final int bytesAt = HEADER + 4 * (nodes + 1);
+        final int slotsAt = bytesAt + ((nameBytes + 3) & ~3);
+        return new MappedNames(ints(HEADER, nodes + 1), slice(bytesAt, nameBytes), ints(slotsAt, slots));
+    }
+
+    private Adjacency adjacency(final boolean outgoing) {
+        final int at = adjacencyAt(outgoing);
+        final Adjacency adjacency = new Adjacency();
+        adjacency.map(nodes, ints(at, nodes + 1), ints(at + 4 * (nodes + 1), edges), ints(at + 4 * (nodes + 1) + 4 * edges, edges));
+        return adjacency;
+    }
+
+    private int adjacencyAt(final boolean outgoing) {
+        final int at = HEADER + 4 * (nodes + 1) + ((nameBytes + 3) & ~3) + 4 * slots;
+        return outgoing ? at : at + 4 * (nodes + 1) + 8 * edges;
+    }
+
+    private ByteBuffer slice(final int at, final int length) {
+        final ByteBuffer slice = file.duplicate();
+        slice.position(at).limit(at + length);
+        return slice.slice().order(LITTLE_ENDIAN);
+    }
+
+    private IntBuffer ints(final int at, final int count) {
+        return slice(at, 4 * count).asIntBuffer();
+    }
+
+    private static final class Output {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER).order(LITTLE_ENDIAN);
+
+        private Output(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private Output putInt(final int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                drain();
+            }
+            buffer.putInt(value);
+            return this;
+        }
+
+        private void put(final byte[] bytes) throws IOException {
+            for (int at = 0; at < bytes.length; ) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                final int length = Math.min(buffer.remaining(), bytes.length - at);
+                buffer.put(bytes, at, length);
+                at += length;
+            }
+        }
+
+        private void putRows(final Rows rows, final boolean outgoing) throws IOException {
+            int offset = 0;
+            putInt(offset);
+            for (int node = 0; node < rows.nodes(); node++) {
+                offset += rows.row(node, outgoing);
+                putInt(offset);
+            }
+            for (int node = 0; node < rows.nodes(); node++) {
+                for (int i = 0, size = rows.row(node, outgoing); i < size; i++) {
+                    putInt(rows.ends[i]);
+                }
+            }
+            for (int node = 0; node < rows.nodes(); node++) {
+                for (int i = 0, size = rows.row(node, outgoing); i < size; i++) {
+                    putInt(rows.weights[i]);
+                }
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private abstract static class Rows {
+
+        int[] ends = new int[16];
+        int[] weights = new int[16];
+
+        abstract int nodes();
+
+        abstract String name(int node);
+
+        abstract int row(int node, boolean outgoing);
+
+        void put(final int at, final int end, final int weight) {
+            if (at == ends.length) {
+                ends = Arrays.copyOf(ends, 2 * at);
+                weights = Arrays.copyOf(weights, 2 * at);
+            }
+            ends[at] = end;
+            weights[at] = weight;
+        }
+    }
+
+    private static final class CompactRows extends Rows {
+
+        private final CompactGraph graph;
+        private final int[] live;
+        private final int[] dense;
+
+        private CompactRows(final CompactGraph graph) {
+            this.graph = graph;
+            this.dense = new int[graph.capacity()];
+            int nodes = 0;
+            for (int node = 0; node < dense.length; node++) {
+                dense[node] = graph.live(node) ? nodes++ : -1;
+            }
+            this.live = new int[nodes];
+            for (int node = 0; node < dense.length; node++) {
+                if (dense[node] >= 0) {
+                    live[dense[node]] = node;
+                }
+            }
+        }
+
+        @Override
+        int nodes() {
+            return live.length;
+        }
+
+        @Override
+        String name(final int node) {
+            return graph.name(live[node]);
+        }
+
+        @Override
+        int row(final int node, final boolean outgoing) {
+            final Adjacency adjacency = outgoing ? graph.out : graph.in;
+            final int id = live[node];
+            int size = 0;
+            for (int i = adjacency.baseStart(id), end = adjacency.baseEnd(id); i < end; i++) {
+                if (!adjacency.removed(i)) {
+                    put(size++, dense[adjacency.end(i)], adjacency.weight(i));
+                }
+            }
+            final int[] pairs = adjacency.delta(id);
+            for (int k = 0, count = adjacency.deltaSize[id]; k < count; k++) {
+                put(size++, dense[pairs[2 * k]], pairs[2 * k + 1]);
+            }
+            return size;
+        }
+    }
+
+    private static final class GraphRows extends Rows {
+
+        private final Graph<Node, Edge> graph;
+        private final List<Node> nodes;
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private GraphRows(final Graph<Node, Edge> graph) {
+            this.graph = graph;
+            this.nodes = new ArrayList<>(graph.getVertices());
+            for (final Node node : nodes) {
+                ids.put(node.name, ids.size());
+            }
+        }
+
+        @Override
+        int nodes() {
+            return nodes.size();
+        }
+
+        @Override
+        String name(final int node) {
+            return nodes.get(node).name;
+        }
+
+        @Override
+        int row(final int node, final boolean outgoing) {
+            int size = 0;
+            final Node vertex = nodes.get(node);
+            for (final Edge edge : outgoing ? graph.getOutEdges(vertex) : graph.getInEdges(vertex)) {
+                put(size++, ids.get(outgoing ? edge.end : edge.start), edge.weight);
+            }
+            return size;
+        }
+    }
+}
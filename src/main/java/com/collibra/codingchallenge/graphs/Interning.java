@@ -0,0 +1,6 @@
+package com.collibra.codingchallenge.graphs;
+
+interface Interning {
+
+    Node interned(String name);
+}
@@ -0,0 +1,98 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static com.collibra.codingchallenge.graphs.Dijkstra.UNREACHABLE;
+
+public final class Landmarks implements GraphIndex {
+
+    private static final long FAR = Long.MAX_VALUE >> 2;
+
+    private final CompactGraph graph;
+    private final long version;
+    private final int count;
+    private final long[] from;
+    private final long[] to;
+
+    private Landmarks(final CompactGraph graph, final long version, final int count, final long[] from, final long[] to) {
+        this.graph = graph;
+        this.version = version;
+        this.count = count;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static Supplier<Landmarks> prepare(final CompactGraph graph, final int count) {
+        final int capacity = graph.capacity();
+        final long version = graph.version();
+        final Adjacency out = graph.out.copy(capacity);
+        final Adjacency in = graph.in.copy(capacity);
+        return () -> build(graph, version, capacity, out, in, count);
+    }
+
+    @Override
+    public boolean current(final CompactGraph graph) {
+        return this.graph == graph && version == graph.version();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    long potential(final int node, final int start, final int end) {
+        long toEnd = 0;
+        long fromStart = 0;
+        for (int l = 0; l < count; l++) {
+            final int at = node * count + l;
+            toEnd = Math.max(toEnd, Math.max(from[end * count + l] - from[at], to[at] - to[end * count + l]));
+            fromStart = Math.max(fromStart, Math.max(from[at] - from[start * count + l], to[start * count + l] - to[at]));
+        }
+        return toEnd - fromStart;
+    }
+
+    private static Landmarks build(final CompactGraph graph, final long version, final int capacity,
+                                   final Adjacency out, final Adjacency in, final int wanted) {
+        int first = -1;
+        for (int node = 0, degree = -1; node < capacity; node++) {
+            final int size = out.baseEnd(node) - out.baseStart(node) + in.baseEnd(node) - in.baseStart(node);
+            if (size > degree) {
+                first = node;
+                degree = size;
+            }
+        }
+        final int count = first < 0 ? 0 : Math.min(wanted, capacity);
+        final long[] from = new long[capacity * count];
+        final long[] to = new long[capacity * count];
+        final long[] nearest = new long[capacity];
+        Arrays.fill(nearest, UNREACHABLE);
+        final Dijkstra dijkstra = new Dijkstra();
+        for (int l = 0, landmark = first; l < count; l++) {
+            distances(dijkstra, out, capacity, landmark, from, l, count);
+            distances(dijkstra, in, capacity, landmark, to, l, count);
+            int farthest = landmark;
+            for (int node = 0; node < capacity; node++) {
+                final long d = Math.min(from[node * count + l], to[node * count + l]);
+                nearest[node] = Math.min(nearest[node], d);
+                if (nearest[node] < FAR && nearest[node] > nearest[farthest]) {
+                    farthest = node;
+                }
+            }
+            landmark = farthest;
+        }
+        return new Landmarks(graph, version, count, from, to);
+    }
+
+    private static void distances(final Dijkstra dijkstra, final Adjacency adjacency, final int capacity, final int landmark,
+                                  final long[] distances, final int l, final int count) {
+        dijkstra.search(adjacency, capacity, landmark, -1, UNREACHABLE);
+        for (int node = 0; node < capacity; node++) {
+            distances[node * count + l] = Math.min(dijkstra.distanceTo(node), FAR);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+final class MappedNames {
+
+    private final IntBuffer offsets;
+    private final ByteBuffer bytes;
+    private final IntBuffer slots;
+    private final int size;
+
+    MappedNames(final IntBuffer offsets, final ByteBuffer bytes, final IntBuffer slots) {
+        this.offsets = offsets;
+        this.bytes = bytes;
+        this.slots = slots;
+        this.size = offsets.capacity() - 1;
+    }
+
+    int id(final String name, final int hash) {
+        final int mask = slots.capacity() - 1;
+        for (int i = hash & mask, slot = slots.get(i); slot != 0; i = (i + 1) & mask, slot = slots.get(i)) {
+            if (equal(slot - 1, name)) {
+                return slot - 1;
+            }
+        }
+        return -1;
+    }
+
+    String name(final int id) {
+        final int offset = offsets.get(id);
+        final byte[] name = new byte[offsets.get(id + 1) - offset];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = bytes.get(offset + i);
+        }
+        return new String(name, ISO_8859_1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean equal(final int id, final String name) {
+        final int offset = offsets.get(id);
+        if (offsets.get(id + 1) - offset != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if ((bytes.get(offset + i) & 0xFF) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
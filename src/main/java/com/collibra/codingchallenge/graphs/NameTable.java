@@ -0,0 +1,172 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+
+final class NameTable {
+
+    private final MappedNames base;
+    private final long[] dead;
+    private final int first;
+    private int deadCount;
+    private int[] slots;
+    private String[] names;
+    private int[] hashes;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int capacity;
+    private int size;
+
+    NameTable() {
+        this(16);
+    }
+
+    NameTable(final int expected) {
+        this(null, expected);
+    }
+
+    NameTable(final MappedNames base) {
+        this(base, 16);
+    }
+
+    private NameTable(final MappedNames base, final int expected) {
+        this.base = base;
+        this.first = base == null ? 0 : base.size();
+        this.dead = new long[(first + 63) >>> 6];
+        final int length = Math.max(16, Integer.highestOneBit(Math.max(1, expected) - 1) << 1);
+        slots = new int[2 * length];
+        names = new String[length];
+        hashes = new int[length];
+    }
+
+    private NameTable(final NameTable other) {
+        this.base = other.base;
+        this.first = other.first;
+        this.dead = other.dead.clone();
+        this.deadCount = other.deadCount;
+        this.slots = other.slots.clone();
+        this.names = other.names.clone();
+        this.hashes = other.hashes.clone();
+        this.free = other.free.clone();
+        this.freeCount = other.freeCount;
+        this.capacity = other.capacity;
+        this.size = other.size;
+    }
+
+    NameTable copy() {
+        return new NameTable(this);
+    }
+
+    int id(final String name) {
+        final int hash = hash(name);
+        final int mask = slots.length - 1;
+        for (int i = hash & mask; slots[i] != 0; i = (i + 1) & mask) {
+            final int id = slots[i] - 1;
+            if (hashes[id] == hash && names[id].equals(name)) {
+                return first + id;
+            }
+        }
+        if (base != null) {
+            final int id = base.id(name, hash);
+            if (id >= 0 && !dead(id)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    int add(final String name) {
+        final int id = freeCount > 0 ? free[--freeCount] : capacity++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        names[id] = name;
+        hashes[id] = hash(name);
+        size++;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        } else {
+            insert(id);
+        }
+        return first + id;
+    }
+
+    void remove(final int node) {
+        if (node < first) {
+            dead[node >>> 6] |= 1L << node;
+            deadCount++;
+            return;
+        }
+        final int id = node - first;
+        final int mask = slots.length - 1;
+        int hole = hashes[id] & mask;
+        while (slots[hole] != id + 1) {
+            hole = (hole + 1) & mask;
+        }
+        slots[hole] = 0;
+        for (int i = (hole + 1) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            final int home = hashes[slots[i] - 1] & mask;
+            final boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                slots[hole] = slots[i];
+                slots[i] = 0;
+                hole = i;
+            }
+        }
+        names[id] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = id;
+        size--;
+    }
+
+    String name(final int node) {
+        if (node < first) {
+            return dead(node) ? null : base.name(node);
+        }
+        return names[node - first];
+    }
+
+    boolean live(final int node) {
+        if (node < first) {
+            return node >= 0 && !dead(node);
+        }
+        return node - first < capacity && names[node - first] != null;
+    }
+
+    int capacity() {
+        return first + capacity;
+    }
+
+    int size() {
+        return first - deadCount + size;
+    }
+
+    private boolean dead(final int node) {
+        return (dead[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private void insert(final int id) {
+        final int mask = slots.length - 1;
+        int i = hashes[id] & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = id + 1;
+    }
+
+    private void rehash(final int length) {
+        slots = new int[length];
+        for (int id = 0; id < capacity; id++) {
+            if (names[id] != null) {
+                insert(id);
+            }
+        }
+    }
+
+    static int hash(final String name) {
+        final int h = name.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
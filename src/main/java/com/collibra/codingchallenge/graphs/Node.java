@@ -1,12 +1,33 @@
 package com.collibra.codingchallenge.graphs;
 
-import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-@RequiredArgsConstructor
-@EqualsAndHashCode
-@ToString
+import java.util.Objects;
+
+@ToString(exclude = "hash")
 public class Node {
     public final String name;
+    private final int hash;
+
+    public Node(final String name) {
+        this.name = name;
+        this.hash = Objects.hashCode(name);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Node)) {
+            return false;
+        }
+        final Node other = (Node) o;
+        return hash == other.hash && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
 }
@@ -0,0 +1,279 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.AbstractTypedGraph;
+import edu.uci.ics.jung.graph.DirectedGraph;
+import edu.uci.ics.jung.graph.MultiGraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static edu.uci.ics.jung.graph.util.EdgeType.DIRECTED;
+
+public final class PersistentGraph extends AbstractTypedGraph<Node, Edge> implements DirectedGraph<Node, Edge>, MultiGraph<Node, Edge>, Versioned, Interning {
+
+    private PersistentMap<Node, Incidence> vertices;
+    private PersistentMap<Edge, Pair<Node>> edges;
+    private long version;
+    private final boolean frozen;
+    private final Symbols symbols;
+
+    public PersistentGraph() {
+        this(0);
+    }
+
+    public PersistentGraph(final long version) {
+        this(PersistentMap.empty(), PersistentMap.empty(), version, new Symbols());
+    }
+
+    private PersistentGraph(
+            final PersistentMap<Node, Incidence> vertices,
+            final PersistentMap<Edge, Pair<Node>> edges,
+            final long version,
+            final Symbols symbols
+    ) {
+        super(DIRECTED);
+        this.vertices = vertices;
+        this.edges = edges;
+        this.version = version;
+        this.frozen = symbols == null;
+        this.symbols = symbols;
+    }
+
+    public PersistentGraph snapshot() {
+        return frozen ? this : new PersistentGraph(vertices, edges, version, null);
+    }
+
+    @Override
+    public Node interned(final String name) {
+        return frozen ? null : symbols.node(name);
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public void advance(final long versions) {
+        checkMutable();
+        version += versions;
+    }
+
+    @Override
+    public Collection<Edge> getEdges() {
+        return edges.keys();
+    }
+
+    @Override
+    public Collection<Node> getVertices() {
+        return vertices.keys();
+    }
+
+    @Override
+    public boolean containsVertex(final Node vertex) {
+        return vertices.containsKey(vertex);
+    }
+
+    @Override
+    public boolean containsEdge(final Edge edge) {
+        return edges.containsKey(edge);
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    @Override
+    public Collection<Edge> getInEdges(final Node vertex) {
+        final Incidence incidence = vertices.get(vertex);
+        return incidence == null ? null : incidence.in.keys();
+    }
+
+    @Override
+    public Collection<Edge> getOutEdges(final Node vertex) {
+        final Incidence incidence = vertices.get(vertex);
+        return incidence == null ? null : incidence.out.keys();
+    }
+
+    @Override
+    public Collection<Node> getPredecessors(final Node vertex) {
+        final Incidence incidence = vertices.get(vertex);
+        if (incidence == null) {
+            return null;
+        }
+        final Set<Node> predecessors = new HashSet<>();
+        for (final Edge edge : incidence.in.keys()) {
+            predecessors.add(getSource(edge));
+        }
+        return predecessors;
+    }
+
+    @Override
+    public Collection<Node> getSuccessors(final Node vertex) {
+        final Incidence incidence = vertices.get(vertex);
+        if (incidence == null) {
+            return null;
+        }
+        final Set<Node> successors = new HashSet<>();
+        for (final Edge edge : incidence.out.keys()) {
+            successors.add(getDest(edge));
+        }
+        return successors;
+    }
+
+    @Override
+    public Collection<Node> getNeighbors(final Node vertex) {
+        final Collection<Node> neighbors = getPredecessors(vertex);
+        if (neighbors != null) {
+            neighbors.addAll(getSuccessors(vertex));
+        }
+        return neighbors;
+    }
+
+    @Override
+    public Collection<Edge> getIncidentEdges(final Node vertex) {
+        final Incidence incidence = vertices.get(vertex);
+        if (incidence == null) {
+            return null;
+        }
+        final Set<Edge> incident = new HashSet<>(incidence.in.keys());
+        incident.addAll(incidence.out.keys());
+        return incident;
+    }
+
+    @Override
+    public Node getSource(final Edge edge) {
+        final Pair<Node> endpoints = edges.get(edge);
+        return endpoints == null ? null : endpoints.getFirst();
+    }
+
+    @Override
+    public Node getDest(final Edge edge) {
+        final Pair<Node> endpoints = edges.get(edge);
+        return endpoints == null ? null : endpoints.getSecond();
+    }
+
+    @Override
+    public boolean isSource(final Node vertex, final Edge edge) {
+        return containsVertex(vertex) && vertex.equals(getSource(edge));
+    }
+
+    @Override
+    public boolean isDest(final Node vertex, final Edge edge) {
+        return containsVertex(vertex) && vertex.equals(getDest(edge));
+    }
+
+    @Override
+    public Pair<Node> getEndpoints(final Edge edge) {
+        return edges.get(edge);
+    }
+
+    @Override
+    public boolean addVertex(final Node vertex) {
+        checkNotNull(vertex);
+        checkMutable();
+        if (vertices.containsKey(vertex)) {
+            return false;
+        }
+        vertices = vertices.plus(vertex, Incidence.NONE);
+        symbols.add(vertex);
+        version++;
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(final Node vertex) {
+        checkMutable();
+        final Incidence incidence = vertices.get(vertex);
+        if (incidence == null) {
+            return false;
+        }
+        for (final Edge edge : incidence.in.keys()) {
+            removeEdge(edge);
+        }
+        for (final Edge edge : incidence.out.keys()) {
+            removeEdge(edge);
+        }
+        vertices = vertices.minus(vertex);
+        symbols.remove(vertex);
+        version++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(final Edge edge, final Pair<? extends Node> endpoints, final EdgeType edgeType) {
+        checkMutable();
+        validateEdgeType(edgeType);
+        final Pair<Node> validated = getValidatedEndpoints(edge, endpoints);
+        if (validated == null) {
+            return false;
+        }
+        final Node source = validated.getFirst();
+        final Node dest = validated.getSecond();
+        addVertex(source);
+        addVertex(dest);
+        edges = edges.plus(edge, validated);
+        vertices = vertices.plus(source, vertices.get(source).withOut(edge));
+        vertices = vertices.plus(dest, vertices.get(dest).withIn(edge));
+        version++;
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(final Edge edge) {
+        checkMutable();
+        final Pair<Node> endpoints = edges.get(edge);
+        if (endpoints == null) {
+            return false;
+        }
+        final Node source = endpoints.getFirst();
+        final Node dest = endpoints.getSecond();
+        vertices = vertices.plus(source, vertices.get(source).withoutOut(edge));
+        vertices = vertices.plus(dest, vertices.get(dest).withoutIn(edge));
+        edges = edges.minus(edge);
+        version++;
+        return true;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Graph snapshot cannot be modified");
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Incidence {
+
+        static final Incidence NONE = new Incidence(PersistentMap.empty(), PersistentMap.empty());
+
+        final PersistentMap<Edge, Boolean> in;
+        final PersistentMap<Edge, Boolean> out;
+
+        Incidence withIn(final Edge edge) {
+            return new Incidence(in.plus(edge, true), out);
+        }
+
+        Incidence withOut(final Edge edge) {
+            return new Incidence(in, out.plus(edge, true));
+        }
+
+        Incidence withoutIn(final Edge edge) {
+            return new Incidence(in.minus(edge), out);
+        }
+
+        Incidence withoutOut(final Edge edge) {
+            return new Incidence(in, out.minus(edge));
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.collibra.codingchallenge.graphs;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public final class PersistentMap<K, V> {
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Trie root;
+    private final int size;
+
+    private PersistentMap(final Trie root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+        final Entry entry = root.find(key, key.hashCode(), 0);
+        return entry == null ? null : (V) entry.value;
+    }
+
+    public boolean containsKey(final Object key) {
+        return root != null && key != null && root.find(key, key.hashCode(), 0) != null;
+    }
+
+    public PersistentMap<K, V> plus(final K key, final V value) {
+        checkNotNull(key);
+        final boolean present = containsKey(key);
+        final Entry entry = new Entry(key, value, key.hashCode());
+        final Trie updated = root == null ? Branch.of(entry, 0) : root.plus(entry, 0);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentMap<>(updated, present ? size : size + 1);
+    }
+
+    public PersistentMap<K, V> minus(final Object key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        final Trie updated = root.minus(key, key.hashCode(), 0);
+        return updated == null ? empty() : new PersistentMap<>(updated, size - 1);
+    }
+
+    public Collection<K> keys() {
+        return new View<>(e -> e.key, true);
+    }
+
+    public Collection<V> values() {
+        return new View<>(e -> e.value, false);
+    }
+
+    @RequiredArgsConstructor
+    private final class View<T> extends AbstractCollection<T> {
+
+        private final Function<Entry, Object> projection;
+        private final boolean keyed;
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Cursor<>(root, projection);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return keyed ? containsKey(o) : super.contains(o);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        final Object key;
+        final Object value;
+        final int hash;
+
+        boolean matches(final Object key, final int hash) {
+            return this.hash == hash && this.key.equals(key);
+        }
+    }
+
+    private interface Trie {
+
+        Entry find(Object key, int hash, int shift);
+
+        Trie plus(Entry entry, int shift);
+
+        Trie minus(Object key, int hash, int shift);
+
+        Object[] slots();
+
+        default Entry sole() {
+            final Object[] slots = slots();
+            return slots.length == 1 && slots[0] instanceof Entry ? (Entry) slots[0] : null;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Branch implements Trie {
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        static Trie of(final Entry entry, final int shift) {
+            return new Branch(bit(entry.hash, shift), new Object[]{entry});
+        }
+
+        static Trie merge(final Entry first, final Entry second, final int shift) {
+            if (first.hash == second.hash) {
+                return new Collision(first.hash, new Object[]{first, second});
+            }
+            return pair(first, first.hash, second, second.hash, shift);
+        }
+
+        static Trie pair(final Object first, final int firstHash, final Object second, final int secondHash, final int shift) {
+            final int firstBit = bit(firstHash, shift);
+            final int secondBit = bit(secondHash, shift);
+            if (firstBit == secondBit) {
+                final Object nested = first instanceof Entry
+                        ? merge((Entry) first, (Entry) second, shift + 5)
+                        : pair(first, firstHash, second, secondHash, shift + 5);
+                return new Branch(firstBit, new Object[]{nested});
+            }
+            final Object[] slots = Integer.compareUnsigned(firstBit, secondBit) < 0
+                    ? new Object[]{first, second}
+                    : new Object[]{second, first};
+            return new Branch(firstBit | secondBit, slots);
+        }
+
+        @Override
+        public Entry find(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            final Object slot = slots[index(bit)];
+            if (slot instanceof Entry) {
+                final Entry entry = (Entry) slot;
+                return entry.matches(key, hash) ? entry : null;
+            }
+            return ((Trie) slot).find(key, hash, shift + 5);
+        }
+
+        @Override
+        public Trie plus(final Entry entry, final int shift) {
+            final int bit = bit(entry.hash, shift);
+            final int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] copy = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, copy, 0, index);
+                copy[index] = entry;
+                System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+                return new Branch(bitmap | bit, copy);
+            }
+            final Object slot = slots[index];
+            final Object replacement;
+            if (slot instanceof Entry) {
+                final Entry existing = (Entry) slot;
+                if (existing.matches(entry.key, entry.hash)) {
+                    if (existing.value == entry.value) {
+                        return this;
+                    }
+                    replacement = entry;
+                } else {
+                    replacement = merge(existing, entry, shift + 5);
+                }
+            } else {
+                final Trie nested = (Trie) slot;
+                replacement = nested.plus(entry, shift + 5);
+                if (replacement == nested) {
+                    return this;
+                }
+            }
+            return new Branch(bitmap, replaced(slots, index, replacement));
+        }
+
+        @Override
+        public Trie minus(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int index = index(bit);
+            final Object slot = slots[index];
+            if (slot instanceof Entry) {
+                return ((Entry) slot).matches(key, hash) ? removed(bit, index) : this;
+            }
+            final Trie nested = (Trie) slot;
+            final Trie updated = nested.minus(key, hash, shift + 5);
+            if (updated == nested) {
+                return this;
+            }
+            if (updated == null) {
+                return removed(bit, index);
+            }
+            final Entry sole = updated.sole();
+            return new Branch(bitmap, replaced(slots, index, sole != null ? sole : updated));
+        }
+
+        @Override
+        public Object[] slots() {
+            return slots;
+        }
+
+        private Trie removed(final int bit, final int index) {
+            if (slots.length == 1) {
+                return null;
+            }
+            final Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, index);
+            System.arraycopy(slots, index + 1, copy, index, slots.length - index - 1);
+            return new Branch(bitmap & ~bit, copy);
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Collision implements Trie {
+
+        private final int hash;
+        private final Object[] entries;
+
+        @Override
+        public Entry find(final Object key, final int hash, final int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            for (final Object o : entries) {
+                final Entry entry = (Entry) o;
+                if (entry.key.equals(key)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Trie plus(final Entry entry, final int shift) {
+            if (entry.hash != hash) {
+                return Branch.pair(this, hash, entry, entry.hash, shift);
+            }
+            for (int i = 0; i < entries.length; i++) {
+                final Entry existing = (Entry) entries[i];
+                if (existing.key.equals(entry.key)) {
+                    return existing.value == entry.value ? this : new Collision(hash, replaced(entries, i, entry));
+                }
+            }
+            final Object[] copy = new Object[entries.length + 1];
+            System.arraycopy(entries, 0, copy, 0, entries.length);
+            copy[entries.length] = entry;
+            return new Collision(hash, copy);
+        }
+
+        @Override
+        public Trie minus(final Object key, final int hash, final int shift) {
+            if (hash != this.hash) {
+                return this;
+            }
+            for (int i = 0; i < entries.length; i++) {
+                if (((Entry) entries[i]).key.equals(key)) {
+                    if (entries.length == 1) {
+                        return null;
+                    }
+                    final Object[] copy = new Object[entries.length - 1];
+                    System.arraycopy(entries, 0, copy, 0, i);
+                    System.arraycopy(entries, i + 1, copy, i, entries.length - i - 1);
+                    return new Collision(hash, copy);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Object[] slots() {
+            return entries;
+        }
+    }
+
+    private static Object[] replaced(final Object[] slots, final int index, final Object replacement) {
+        final Object[] copy = slots.clone();
+        copy[index] = replacement;
+        return copy;
+    }
+
+    private static final class Cursor<T> implements Iterator<T> {
+
+        private final Function<Entry, Object> projection;
+        private final Object[][] stack = new Object[9][];
+        private final int[] positions = new int[9];
+        private int depth;
+        private Entry next;
+
+        Cursor(final Trie root, final Function<Entry, Object> projection) {
+            this.projection = projection;
+            if (root == null) {
+                depth = -1;
+            } else {
+                stack[0] = root.slots();
+            }
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                final Object[] slots = stack[depth];
+                if (positions[depth] == slots.length) {
+                    depth--;
+                    continue;
+                }
+                final Object slot = slots[positions[depth]++];
+                if (slot instanceof Entry) {
+                    next = (Entry) slot;
+                    return;
+                }
+                depth++;
+                stack[depth] = ((Trie) slot).slots();
+                positions[depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Entry current = next;
+            advance();
+            return (T) projection.apply(current);
+        }
+    }
+}
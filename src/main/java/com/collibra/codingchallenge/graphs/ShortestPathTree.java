@@ -0,0 +1,223 @@
+package com.collibra.codingchallenge.graphs;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import static com.collibra.codingchallenge.graphs.Dijkstra.UNREACHABLE;
+import static com.collibra.codingchallenge.logging.Logging.logger;
+import static java.util.Comparator.comparingLong;
+import static java.util.Comparator.naturalOrder;
+
+public final class ShortestPathTree {
+
+    private final CompactGraph graph;
+    private final int start;
+    private long version;
+    private long[] distances;
+    private int[] parents;
+    private int[] order;
+
+    ShortestPathTree(final CompactGraph graph, final int start) {
+        this.graph = graph;
+        this.version = graph.version();
+        this.start = start;
+        final Dijkstra dijkstra = Dijkstra.scratch();
+        final int settled = dijkstra.search(graph, start, -1, UNREACHABLE);
+        distances = new long[graph.capacity()];
+        parents = new int[graph.capacity()];
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(parents, -1);
+        order = new int[settled];
+        for (int i = 0; i < settled; i++) {
+            final int node = dijkstra.settled(i);
+            order[i] = node;
+            distances[node] = dijkstra.distanceTo(node);
+            parents[node] = dijkstra.parentOf(node);
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int bytes() {
+        return 64 + 12 * distances.length + 4 * (order == null ? 0 : order.length);
+    }
+
+    public Optional<Integer> shortestPath(final String end) {
+        final int node = graph.id(end);
+        if (node < 0) {
+            LOGGER.debug("Ending node not found - '{}'", end);
+            return Optional.empty();
+        }
+        return Optional.of((int) Math.min(distance(node), Integer.MAX_VALUE));
+    }
+
+    public List<String> closerThan(final int threshold) {
+        final int[] order = order();
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < order.length && distances[order[i]] < threshold; i++) {
+            if (order[i] != start) {
+                names.add(graph.name(order[i]));
+            }
+        }
+        names.sort(naturalOrder());
+        return names;
+    }
+
+    public void nodeAdded() {
+        version = graph.version();
+    }
+
+    public void edgeAdded(final String from, final String to, final int weight) {
+        ensureCapacity();
+        final int tail = graph.id(from);
+        final int head = graph.id(to);
+        final long d = distances[tail] == UNREACHABLE ? UNREACHABLE : distances[tail] + weight;
+        if (d < distances[head]) {
+            distances[head] = d;
+            parents[head] = tail;
+            final PriorityQueue<Reached> queue = new PriorityQueue<>(comparingLong(reached -> reached.distance));
+            queue.add(new Reached(head, d));
+            propagate(queue);
+        }
+        version = graph.version();
+    }
+
+    public void edgesRemoved(final String from, final String to) {
+        ensureCapacity();
+        final int tail = graph.id(from);
+        final int head = graph.id(to);
+        if (parents[head] == tail) {
+            final List<Integer> affected = detach(head);
+            final PriorityQueue<Reached> queue = new PriorityQueue<>(comparingLong(reached -> reached.distance));
+            for (final int node : affected) {
+                reseed(node, queue);
+            }
+            propagate(queue);
+        }
+        version = graph.version();
+    }
+
+    private List<Integer> detach(final int root) {
+        final List<Integer> affected = new ArrayList<>();
+        affected.add(root);
+        distances[root] = UNREACHABLE;
+        final Adjacency out = graph.out;
+        for (int at = 0; at < affected.size(); at++) {
+            final int node = affected.get(at);
+            for (int i = out.baseStart(node), end = out.baseEnd(node); i < end; i++) {
+                if (!out.removed(i)) {
+                    detachChild(node, out.end(i), affected);
+                }
+            }
+            final int[] pairs = out.delta(node);
+            for (int k = 0, size = out.deltaSize[node]; k < size; k++) {
+                detachChild(node, pairs[2 * k], affected);
+            }
+        }
+        return affected;
+    }
+
+    private void detachChild(final int node, final int child, final List<Integer> affected) {
+        if (parents[child] == node && distances[child] != UNREACHABLE) {
+            distances[child] = UNREACHABLE;
+            affected.add(child);
+        }
+    }
+
+    private void reseed(final int node, final PriorityQueue<Reached> queue) {
+        final Adjacency in = graph.in;
+        long best = UNREACHABLE;
+        int parent = -1;
+        for (int i = in.baseStart(node), end = in.baseEnd(node); i < end; i++) {
+            if (!in.removed(i) && distances[in.end(i)] != UNREACHABLE && distances[in.end(i)] + in.weight(i) < best) {
+                best = distances[in.end(i)] + in.weight(i);
+                parent = in.end(i);
+            }
+        }
+        final int[] pairs = in.delta(node);
+        for (int k = 0, size = in.deltaSize[node]; k < size; k++) {
+            if (distances[pairs[2 * k]] != UNREACHABLE && distances[pairs[2 * k]] + pairs[2 * k + 1] < best) {
+                best = distances[pairs[2 * k]] + pairs[2 * k + 1];
+                parent = pairs[2 * k];
+            }
+        }
+        parents[node] = parent;
+        if (parent >= 0) {
+            distances[node] = best;
+            queue.add(new Reached(node, best));
+        }
+    }
+
+    private void propagate(final PriorityQueue<Reached> queue) {
+        final Adjacency out = graph.out;
+        while (!queue.isEmpty()) {
+            final Reached reached = queue.poll();
+            final int node = reached.node;
+            if (reached.distance > distances[node]) {
+                continue;
+            }
+            for (int i = out.baseStart(node), end = out.baseEnd(node); i < end; i++) {
+                if (!out.removed(i)) {
+                    improve(node, out.end(i), reached.distance + out.weight(i), queue);
+                }
+            }
+            final int[] pairs = out.delta(node);
+            for (int k = 0, size = out.deltaSize[node]; k < size; k++) {
+                improve(node, pairs[2 * k], reached.distance + pairs[2 * k + 1], queue);
+            }
+        }
+        order = null;
+    }
+
+    private void improve(final int node, final int next, final long d, final PriorityQueue<Reached> queue) {
+        if (d < distances[next]) {
+            distances[next] = d;
+            parents[next] = node;
+            queue.add(new Reached(next, d));
+        }
+    }
+
+    private long distance(final int node) {
+        return node < distances.length ? distances[node] : UNREACHABLE;
+    }
+
+    private synchronized int[] order() {
+        if (order == null) {
+            order = IntStream.range(0, distances.length).
+                    filter(node -> distances[node] != UNREACHABLE).
+                    boxed().
+                    sorted(comparingLong(node -> distances[node])).
+                    mapToInt(Integer::intValue).
+                    toArray();
+        }
+        return order;
+    }
+
+    private void ensureCapacity() {
+        final int capacity = graph.capacity();
+        if (capacity > distances.length) {
+            final int length = distances.length;
+            distances = Arrays.copyOf(distances, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            Arrays.fill(distances, length, capacity, UNREACHABLE);
+            Arrays.fill(parents, length, capacity, -1);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Reached {
+        final int node;
+        final long distance;
+    }
+
+    private static final Logger LOGGER = logger(ShortestPathTree.class);
+}
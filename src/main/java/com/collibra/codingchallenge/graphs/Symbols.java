@@ -0,0 +1,30 @@
+package com.collibra.codingchallenge.graphs;
+
+import java.util.Arrays;
+
+final class Symbols {
+
+    private final NameTable names = new NameTable();
+    private Node[] nodes = new Node[16];
+
+    Node node(final String name) {
+        final int id = names.id(name);
+        return id < 0 ? null : nodes[id];
+    }
+
+    void add(final Node node) {
+        final int id = names.add(node.name);
+        if (id == nodes.length) {
+            nodes = Arrays.copyOf(nodes, 2 * id);
+        }
+        nodes[id] = node;
+    }
+
+    void remove(final Node node) {
+        final int id = names.id(node.name);
+        if (id >= 0) {
+            names.remove(id);
+            nodes[id] = null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.collibra.codingchallenge.graphs;
+
+public interface Versioned {
+
+    long version();
+
+    void advance(long versions);
+}
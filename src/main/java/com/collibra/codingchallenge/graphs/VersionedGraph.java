@@ -0,0 +1,69 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+public final class VersionedGraph extends DirectedSparseMultigraph<Node, Edge> implements Versioned, Interning {
+
+    private final Symbols symbols = new Symbols();
+    private long version;
+
+    public VersionedGraph() {
+        this(0);
+    }
+
+    public VersionedGraph(final long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public void advance(final long versions) {
+        version += versions;
+    }
+
+    @Override
+    public Node interned(final String name) {
+        return symbols.node(name);
+    }
+
+    @Override
+    public boolean addVertex(final Node vertex) {
+        final boolean added = super.addVertex(vertex);
+        if (added) {
+            symbols.add(vertex);
+        }
+        return changed(added);
+    }
+
+    @Override
+    public boolean removeVertex(final Node vertex) {
+        final boolean removed = super.removeVertex(vertex);
+        if (removed) {
+            symbols.remove(vertex);
+        }
+        return changed(removed);
+    }
+
+    @Override
+    public boolean addEdge(final Edge edge, final Pair<? extends Node> endpoints, final EdgeType edgeType) {
+        return changed(super.addEdge(edge, endpoints, edgeType));
+    }
+
+    @Override
+    public boolean removeEdge(final Edge edge) {
+        return changed(super.removeEdge(edge));
+    }
+
+    private boolean changed(final boolean changed) {
+        if (changed) {
+            version++;
+        }
+        return changed;
+    }
+}
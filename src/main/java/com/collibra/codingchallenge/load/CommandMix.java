@@ -0,0 +1,51 @@
+package com.collibra.codingchallenge.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public final class CommandMix {
+
+    private final RequestKind[] kinds;
+    private final int[] cumulative;
+    private final int total;
+
+    private CommandMix(final Map<RequestKind, Integer> weights) {
+        kinds = new RequestKind[weights.size()];
+        cumulative = new int[weights.size()];
+        int sum = 0;
+        int i = 0;
+        for (final Map.Entry<RequestKind, Integer> weight : weights.entrySet()) {
+            sum += weight.getValue();
+            kinds[i] = weight.getKey();
+            cumulative[i++] = sum;
+        }
+        checkArgument(sum > 0, "Command mix has no weight");
+        total = sum;
+    }
+
+    public static CommandMix of(final String mix) {
+        final Map<RequestKind, Integer> weights = new EnumMap<>(RequestKind.class);
+        for (final String part : mix.split(",")) {
+            final String[] kindAndWeight = part.split("=");
+            checkArgument(kindAndWeight.length == 2, "Expected KIND=WEIGHT, got '%s'", part);
+            final int weight = Integer.parseInt(kindAndWeight[1].trim());
+            checkArgument(weight >= 0, "Negative weight in '%s'", part);
+            if (weight > 0) {
+                weights.merge(RequestKind.of(kindAndWeight[0]), weight, Integer::sum);
+            }
+        }
+        return new CommandMix(weights);
+    }
+
+    RequestKind next(final SplittableRandom random) {
+        final int drawn = random.nextInt(total);
+        int i = 0;
+        while (cumulative[i] <= drawn) {
+            i++;
+        }
+        return kinds[i];
+    }
+}
@@ -0,0 +1,133 @@
+package com.collibra.codingchallenge.load;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.collibra.codingchallenge.load.RequestKind.node;
+import static com.collibra.codingchallenge.load.RequestKind.weight;
+import static com.collibra.codingchallenge.logging.Logging.logger;
+import static java.lang.String.format;
+
+@RequiredArgsConstructor
+public final class LoadGenerator {
+
+    private static final long SEED = 42;
+
+    private final LoadSettings settings;
+
+    public static void main(final String[] ignored) {
+        final LoadSettings settings = LoadSettings.fromSystemProperties();
+        LOGGER.info("Generating load with {}", settings);
+        try {
+            final LoadResult result = new LoadGenerator(settings).run();
+            result.print(System.out);
+            if (settings.output != null) {
+                result.write(Paths.get(settings.output));
+                LOGGER.info("Histograms written to {}", settings.output);
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Could not generate load - {}", e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public LoadResult run() throws IOException {
+        final CommandMix mix = CommandMix.of(settings.mix);
+        preload();
+        final ExecutorService pool = Executors.newFixedThreadPool(settings.sessions,
+                new ThreadFactoryBuilder().setNameFormat("load-%d").setDaemon(true).build());
+        final long interval = settings.rate > 0 ? TimeUnit.SECONDS.toNanos(settings.sessions) / settings.rate : 0;
+        final long start = System.nanoTime();
+        final long measured = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds);
+        final long end = measured + TimeUnit.SECONDS.toNanos(settings.seconds);
+        final List<Future<LoadResult>> sessions = new ArrayList<>();
+        for (int i = 0; i < settings.sessions; i++) {
+            final int session = i;
+            final long first = start + interval * session / settings.sessions;
+            sessions.add(pool.submit(() -> replay(session, mix, first, interval, measured, end)));
+        }
+        final LoadResult result = new LoadResult();
+        try {
+            for (final Future<LoadResult> session : sessions) {
+                result.add(session.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for sessions", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Session failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        result.lasted(settings.seconds);
+        return result;
+    }
+
+    private void preload() throws IOException {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        try (final LoadSession session = new LoadSession(settings.host, settings.port, "load-preload")) {
+            for (int i = 0; i < settings.nodes; i++) {
+                session.call(format("ADD NODE %s", node(i)));
+            }
+            for (int i = 0; i < settings.nodes * settings.degree; i++) {
+                session.call(format("ADD EDGE %s %s %d",
+                        node(random.nextInt(settings.nodes)), node(random.nextInt(settings.nodes)), weight(random)));
+            }
+        }
+        LOGGER.info("Preloaded {} nodes and {} edges", settings.nodes, settings.nodes * settings.degree);
+    }
+
+    private LoadResult replay(final int index, final CommandMix mix, final long first, final long interval,
+                              final long measured, final long end) {
+        final LoadResult result = new LoadResult();
+        final SplittableRandom random = new SplittableRandom(SEED + 1 + index);
+        try (final LoadSession session = new LoadSession(settings.host, settings.port, "load-" + index)) {
+            long intended = first;
+            while (true) {
+                if (interval > 0) {
+                    waitUntil(intended);
+                } else {
+                    intended = System.nanoTime();
+                }
+                if (intended >= end) {
+                    break;
+                }
+                final RequestKind kind = mix.next(random);
+                final String request = kind.request(random, settings.nodes);
+                final long sent = System.nanoTime();
+                session.call(request);
+                final long received = System.nanoTime();
+                if (intended >= measured) {
+                    result.record(kind, intended, sent, received);
+                }
+                intended += interval;
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Session {} failed - {}", index, e.getMessage());
+            result.failed();
+        }
+        return result;
+    }
+
+    private static void waitUntil(final long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static final Logger LOGGER = logger(LoadGenerator.class);
+}
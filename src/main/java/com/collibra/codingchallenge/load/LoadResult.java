@@ -0,0 +1,103 @@
+package com.collibra.codingchallenge.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+public final class LoadResult {
+
+    private static final int DIGITS = 3;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final Map<RequestKind, Histogram> latency = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, Histogram> service = new EnumMap<>(RequestKind.class);
+    private long errors;
+    private long seconds;
+
+    LoadResult() {
+        for (final RequestKind kind : RequestKind.values()) {
+            latency.put(kind, new Histogram(DIGITS));
+            service.put(kind, new Histogram(DIGITS));
+        }
+    }
+
+    void record(final RequestKind kind, final long intended, final long sent, final long received) {
+        latency.get(kind).recordValue(received - intended);
+        service.get(kind).recordValue(received - sent);
+    }
+
+    void failed() {
+        errors++;
+    }
+
+    void add(final LoadResult other) {
+        for (final RequestKind kind : RequestKind.values()) {
+            latency.get(kind).add(other.latency.get(kind));
+            service.get(kind).add(other.service.get(kind));
+        }
+        errors += other.errors;
+    }
+
+    void lasted(final long seconds) {
+        this.seconds = seconds;
+    }
+
+    public Histogram latency(final RequestKind kind) {
+        return latency.get(kind);
+    }
+
+    public Histogram service(final RequestKind kind) {
+        return service.get(kind);
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public long count() {
+        return latency.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public void print(final PrintStream out) {
+        out.println(format("%-14s %9s %9s %10s %10s %10s %10s %10s %12s",
+                "request", "count", "per sec", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "service p99"));
+        for (final RequestKind kind : RequestKind.values()) {
+            final Histogram histogram = latency.get(kind);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.println(format("%-14s %9d %9d %10.1f %10.1f %10.1f %10.1f %10.1f %12.1f",
+                    kind, histogram.getTotalCount(), histogram.getTotalCount() / Math.max(1, seconds),
+                    micros(histogram, 50), micros(histogram, 90), micros(histogram, 99), micros(histogram, 99.9),
+                    histogram.getMaxValue() / NANOS_PER_MICRO, micros(service.get(kind), 99)));
+        }
+        out.println(format("%d requests in %d seconds, %d errors", count(), seconds, errors));
+    }
+
+    public void write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (final RequestKind kind : RequestKind.values()) {
+            if (latency.get(kind).getTotalCount() > 0) {
+                write(latency.get(kind), directory.resolve(kind + ".hgrm"));
+                write(service.get(kind), directory.resolve(kind + "-service.hgrm"));
+            }
+        }
+    }
+
+    private static void write(final Histogram histogram, final Path file) throws IOException {
+        try (final PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MICRO);
+        }
+    }
+
+    private static double micros(final Histogram histogram, final double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MICRO;
+    }
+}
@@ -0,0 +1,60 @@
+package com.collibra.codingchallenge.load;
+
+import com.collibra.codingchallenge.parsing.Messages;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static java.lang.String.format;
+
+final class LoadSession implements AutoCloseable {
+
+    private static final String CLIENT_GREETING = "HI, I'M %s";
+    private static final String CLIENT_FAREWELL = "BYE MATE!";
+
+    private final Socket socket;
+    private final BufferedReader server;
+    private final Writer client;
+
+    LoadSession(final String host, final int port, final String name) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        server = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        client = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        expect(server.readLine(), Messages.SERVER_FIRST_MESSAGE.replace("%s", ""));
+        send(format(CLIENT_GREETING, name));
+        expect(server.readLine(), format(Messages.SERVER_RESPONSE, name));
+    }
+
+    String call(final String request) throws IOException {
+        send(request);
+        final String response = server.readLine();
+        if (response == null) {
+            throw new EOFException("Server closed the session");
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            send(CLIENT_FAREWELL);
+            server.readLine();
+        } finally {
+            socket.close();
+        }
+    }
+
+    private void send(final String line) throws IOException {
+        client.write(line);
+        client.write('\n');
+        client.flush();
+    }
+
+    private static void expect(final String line, final String prefix) throws IOException {
+        if (line == null || !line.startsWith(prefix)) {
+            throw new IOException(format("Expected '%s', got '%s'", prefix, line));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.collibra.codingchallenge.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@RequiredArgsConstructor
+@ToString
+public final class LoadSettings {
+
+    static final String DEFAULT_MIX = "SHORTEST_PATH=50,CLOSER_THAN=20,ADD_EDGE=15,REMOVE_EDGE=5,ADD_NODE=5,REMOVE_NODE=5";
+
+    public final String host;
+    public final int port;
+    public final int sessions;
+    public final int rate;
+    public final int warmupSeconds;
+    public final int seconds;
+    public final int nodes;
+    public final int degree;
+    public final String mix;
+    public final String output;
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                System.getProperty("collibra.load.host", "localhost"),
+                Integer.getInteger("collibra.load.port", 50_000),
+                Integer.getInteger("collibra.load.sessions", 10),
+                Integer.getInteger("collibra.load.rate", 1_000),
+                Integer.getInteger("collibra.load.warmup", 5),
+                Integer.getInteger("collibra.load.seconds", 30),
+                Integer.getInteger("collibra.load.nodes", 1_000),
+                Integer.getInteger("collibra.load.degree", 4),
+                System.getProperty("collibra.load.mix", DEFAULT_MIX),
+                System.getProperty("collibra.load.output")
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package com.collibra.codingchallenge.load;
+
+import java.util.SplittableRandom;
+
+import static java.lang.String.format;
+
+public enum RequestKind {
+
+    ADD_NODE {
+        @Override
+        String request(final SplittableRandom random, final int nodes) {
+            return format("ADD NODE %s", node(random, nodes));
+        }
+    },
+    ADD_EDGE {
+        @Override
+        String request(final SplittableRandom random, final int nodes) {
+            return format("ADD EDGE %s %s %d", node(random, nodes), node(random, nodes), weight(random));
+        }
+    },
+    REMOVE_NODE {
+        @Override
+        String request(final SplittableRandom random, final int nodes) {
+            return format("REMOVE NODE %s", node(random, nodes));
+        }
+    },
+    REMOVE_EDGE {
+        @Override
+        String request(final SplittableRandom random, final int nodes) {
+            return format("REMOVE EDGE %s %s", node(random, nodes), node(random, nodes));
+        }
+    },
+    SHORTEST_PATH {
+        @Override
+        String request(final SplittableRandom random, final int nodes) {
+            return format("SHORTEST PATH %s %s", node(random, nodes), node(random, nodes));
+        }
+    },
+    CLOSER_THAN {
+        @Override
+        String request(final SplittableRandom random, final int nodes) {
+            return format("CLOSER THAN %d %s", 2 * weight(random), node(random, nodes));
+        }
+    };
+
+    static final int MAX_WEIGHT = 100;
+
+    abstract String request(SplittableRandom random, int nodes);
+
+    static String node(final int i) {
+        return "load-" + i;
+    }
+
+    static int weight(final SplittableRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+
+    static String node(final SplittableRandom random, final int nodes) {
+        return node(random.nextInt(nodes));
+    }
+
+    static RequestKind of(final String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
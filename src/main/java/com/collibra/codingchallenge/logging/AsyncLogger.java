@@ -0,0 +1,234 @@
+package com.collibra.codingchallenge.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MarkerIgnoringBase;
+
+import static org.slf4j.event.Level.*;
+
+final class AsyncLogger extends MarkerIgnoringBase {
+
+    private static final int VARARGS = 3;
+
+    private final Logger target;
+    private final LogRing ring;
+    private final Sampler sampler;
+
+    AsyncLogger(final Logger target, final LogRing ring, final Sampler sampler) {
+        this.name = target.getName();
+        this.target = target;
+        this.ring = ring;
+        this.sampler = sampler;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return target.isTraceEnabled();
+    }
+
+    @Override
+    public void trace(final String message) {
+        if (target.isTraceEnabled()) {
+            ring.offer(target, TRACE, message, 0, null, null, null);
+        }
+    }
+
+    @Override
+    public void trace(final String format, final Object argument) {
+        if (target.isTraceEnabled()) {
+            ring.offer(target, TRACE, format, 1, argument, null, null);
+        }
+    }
+
+    @Override
+    public void trace(final String format, final Object first, final Object second) {
+        if (target.isTraceEnabled()) {
+            ring.offer(target, TRACE, format, 2, first, second, null);
+        }
+    }
+
+    @Override
+    public void trace(final String format, final Object... arguments) {
+        if (target.isTraceEnabled()) {
+            ring.offer(target, TRACE, format, VARARGS, null, null, arguments);
+        }
+    }
+
+    @Override
+    public void trace(final String message, final Throwable thrown) {
+        if (target.isTraceEnabled()) {
+            ring.offer(target, TRACE, message, 1, thrown, null, null);
+        }
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return target.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(final String message) {
+        if (target.isDebugEnabled()) {
+            ring.offer(target, DEBUG, message, 0, null, null, null);
+        }
+    }
+
+    @Override
+    public void debug(final String format, final Object argument) {
+        if (target.isDebugEnabled()) {
+            ring.offer(target, DEBUG, format, 1, argument, null, null);
+        }
+    }
+
+    @Override
+    public void debug(final String format, final Object first, final Object second) {
+        if (target.isDebugEnabled()) {
+            ring.offer(target, DEBUG, format, 2, first, second, null);
+        }
+    }
+
+    @Override
+    public void debug(final String format, final Object... arguments) {
+        if (target.isDebugEnabled()) {
+            ring.offer(target, DEBUG, format, VARARGS, null, null, arguments);
+        }
+    }
+
+    @Override
+    public void debug(final String message, final Throwable thrown) {
+        if (target.isDebugEnabled()) {
+            ring.offer(target, DEBUG, message, 1, thrown, null, null);
+        }
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return target.isInfoEnabled();
+    }
+
+    @Override
+    public void info(final String message) {
+        if (sampled()) {
+            ring.offer(target, INFO, message, 0, null, null, null);
+        }
+    }
+
+    @Override
+    public void info(final String format, final Object argument) {
+        if (sampled()) {
+            ring.offer(target, INFO, format, 1, argument, null, null);
+        }
+    }
+
+    @Override
+    public void info(final String format, final Object first, final Object second) {
+        if (sampled()) {
+            ring.offer(target, INFO, format, 2, first, second, null);
+        }
+    }
+
+    @Override
+    public void info(final String format, final Object... arguments) {
+        if (sampled()) {
+            ring.offer(target, INFO, format, VARARGS, null, null, arguments);
+        }
+    }
+
+    @Override
+    public void info(final String message, final Throwable thrown) {
+        if (sampled()) {
+            ring.offer(target, INFO, message, 1, thrown, null, null);
+        }
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return target.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(final String message) {
+        if (target.isWarnEnabled()) {
+            ring.offer(target, WARN, message, 0, null, null, null);
+        }
+    }
+
+    @Override
+    public void warn(final String format, final Object argument) {
+        if (target.isWarnEnabled()) {
+            ring.offer(target, WARN, format, 1, argument, null, null);
+        }
+    }
+
+    @Override
+    public void warn(final String format, final Object first, final Object second) {
+        if (target.isWarnEnabled()) {
+            ring.offer(target, WARN, format, 2, first, second, null);
+        }
+    }
+
+    @Override
+    public void warn(final String format, final Object... arguments) {
+        if (target.isWarnEnabled()) {
+            ring.offer(target, WARN, format, VARARGS, null, null, arguments);
+        }
+    }
+
+    @Override
+    public void warn(final String message, final Throwable thrown) {
+        if (target.isWarnEnabled()) {
+            ring.offer(target, WARN, message, 1, thrown, null, null);
+        }
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return target.isErrorEnabled();
+    }
+
+    @Override
+    public void error(final String message) {
+        if (target.isErrorEnabled()) {
+            ring.offer(target, ERROR, message, 0, null, null, null);
+        }
+    }
+
+    @Override
+    public void error(final String format, final Object argument) {
+        if (target.isErrorEnabled()) {
+            ring.offer(target, ERROR, format, 1, argument, null, null);
+        }
+    }
+
+    @Override
+    public void error(final String format, final Object first, final Object second) {
+        if (target.isErrorEnabled()) {
+            ring.offer(target, ERROR, format, 2, first, second, null);
+        }
+    }
+
+    @Override
+    public void error(final String format, final Object... arguments) {
+        if (target.isErrorEnabled()) {
+            ring.offer(target, ERROR, format, VARARGS, null, null, arguments);
+        }
+    }
+
+    @Override
+    public void error(final String message, final Throwable thrown) {
+        if (target.isErrorEnabled()) {
+            ring.offer(target, ERROR, message, 1, thrown, null, null);
+        }
+    }
+
+    private boolean sampled() {
+        if (!target.isInfoEnabled()) {
+            return false;
+        }
+        if (sampler.keep()) {
+            return true;
+        }
+        ring.sampledOut();
+        return false;
+    }
+}
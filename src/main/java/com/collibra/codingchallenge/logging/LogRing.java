@@ -0,0 +1,190 @@
+package com.collibra.codingchallenge.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+final class LogRing implements Runnable {
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long REPORT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Event[] events;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+
+    private final Thread writer = new Thread(this, "log-writer");
+
+    private volatile long drained;
+    private volatile boolean running = true;
+
+    LogRing(final int capacity) {
+        checkArgument(Integer.bitCount(capacity) == 1, "Log buffer capacity must be a power of two, not %s", capacity);
+        events = new Event[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event();
+        }
+        mask = capacity - 1;
+        writer.setDaemon(true);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    void offer(final Logger target, final Level level, final String format, final int arity,
+               final Object first, final Object second, final Object[] arguments) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained >= events.length) {
+                overflows.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        final Event event = events[(int) sequence & mask];
+        event.target = target;
+        event.level = level;
+        event.format = format;
+        event.arity = arity;
+        event.first = frozen(first);
+        event.second = frozen(second);
+        event.arguments = frozen(arguments);
+        event.published = sequence;
+    }
+
+    void sampledOut() {
+        sampled.increment();
+    }
+
+    @Override
+    public void run() {
+        long reported = System.nanoTime();
+        while (running) {
+            if (drain() == 0) {
+                final long now = System.nanoTime();
+                if (now - reported > REPORT_NANOS) {
+                    report();
+                    reported = now;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        report();
+    }
+
+    int drain() {
+        int count = 0;
+        long sequence = drained;
+        Event event = events[(int) sequence & mask];
+        while (event.published == sequence) {
+            event.emit();
+            drained = ++sequence;
+            event = events[(int) sequence & mask];
+            count++;
+        }
+        return count;
+    }
+
+    private void report() {
+        final long overflown = overflows.sumThenReset();
+        final long skipped = sampled.sumThenReset();
+        if (overflown > 0 || skipped > 0) {
+            LOGGER.warn("Dropped {} log events on a full buffer and sampled out {} INFO lines", overflown, skipped);
+        }
+    }
+
+    private static Object frozen(final Object argument) {
+        return argument instanceof CharSequence && !(argument instanceof String) ? argument.toString() : argument;
+    }
+
+    private static Object[] frozen(final Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        Object[] copy = arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            final Object argument = frozen(arguments[i]);
+            if (argument != arguments[i]) {
+                if (copy == arguments) {
+                    copy = arguments.clone();
+                }
+                copy[i] = argument;
+            }
+        }
+        return copy;
+    }
+
+    private static final class Event {
+
+        private Logger target;
+        private Level level;
+        private String format;
+        private int arity;
+        private Object first;
+        private Object second;
+        private Object[] arguments;
+
+        private volatile long published = -1;
+
+        private void emit() {
+            final FormattingTuple message = MessageFormatter.arrayFormat(format, arguments());
+            switch (level) {
+                case ERROR:
+                    target.error(message.getMessage(), message.getThrowable());
+                    break;
+                case WARN:
+                    target.warn(message.getMessage(), message.getThrowable());
+                    break;
+                case INFO:
+                    target.info(message.getMessage(), message.getThrowable());
+                    break;
+                case DEBUG:
+                    target.debug(message.getMessage(), message.getThrowable());
+                    break;
+                default:
+                    target.trace(message.getMessage(), message.getThrowable());
+            }
+            target = null;
+            first = null;
+            second = null;
+            arguments = null;
+        }
+
+        private Object[] arguments() {
+            switch (arity) {
+                case 0:
+                    return null;
+                case 1:
+                    return new Object[]{first};
+                case 2:
+                    return new Object[]{first, second};
+                default:
+                    return arguments;
+            }
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogRing.class);
+}
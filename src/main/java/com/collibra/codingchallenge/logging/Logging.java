@@ -0,0 +1,28 @@
+package com.collibra.codingchallenge.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class Logging {
+
+    static final boolean ASYNC = Boolean.parseBoolean(System.getProperty("collibra.log.async", "false"));
+    static final int BUFFER = Integer.getInteger("collibra.log.buffer", 1 << 16);
+    static final long INFO_RATE = Long.getLong("collibra.log.info.rate", 1_000);
+    static final long INFO_SAMPLE = Long.getLong("collibra.log.info.sample", 100);
+
+    public static Logger logger(final Class<?> type) {
+        final Logger target = LoggerFactory.getLogger(type);
+        return ASYNC ? new AsyncLogger(target, Ring.RING, Ring.SAMPLER) : target;
+    }
+
+    private static final class Ring {
+
+        private static final LogRing RING = new LogRing(BUFFER);
+        private static final Sampler SAMPLER = new Sampler(INFO_RATE, INFO_SAMPLE);
+
+        static {
+            RING.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(RING::stop, "log-flusher"));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.collibra.codingchallenge.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+final class Sampler {
+
+    private final long rate;
+    private final long every;
+    private final AtomicLong second = new AtomicLong();
+    private final AtomicLong seen = new AtomicLong();
+
+    Sampler(final long rate, final long every) {
+        checkArgument(every > 0, "Sampling must keep one line in a positive number, not %s", every);
+        this.rate = rate;
+        this.every = every;
+    }
+
+    boolean keep() {
+        return keep(System.nanoTime());
+    }
+
+    boolean keep(final long nanos) {
+        if (rate <= 0) {
+            return true;
+        }
+        final long now = TimeUnit.NANOSECONDS.toSeconds(nanos);
+        final long current = second.get();
+        if (current != now && second.compareAndSet(current, now)) {
+            seen.set(0);
+        }
+        final long count = seen.incrementAndGet();
+        return count <= rate || count % every == 0;
+    }
+}
@@ -1,125 +1,169 @@
 package com.collibra.codingchallenge.parsing;
 
 import com.collibra.codingchallenge.commands.*;
-import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
-
-import static com.collibra.codingchallenge.parsing.Regex.*;
-import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 public final class GraphCommandParser {
 
-    public static Optional<GraphCommand> parse(final String request) {
-        return Stream.of(Parser.values()).
-                flatMap(
-                        parser -> parser.parse(request).
-                                map(Stream::of).
-                                orElseGet(Stream::empty)
-                ).
-                findFirst();
+    public static Optional<GraphCommand> parse(final CharSequence request) {
+        return Optional.ofNullable(new Scanner(request).command());
     }
 
-    @AllArgsConstructor
-    private enum Parser {
-
-        ADD_NODE(
-                Pattern.compile(s + "ADD" + s + "NODE" + s + NODE + s, CASE_INSENSITIVE)
-        ) {
-            Optional<GraphCommand> parse(final String text) {
-                final Matcher matcher = pattern.matcher(text);
-                if (matcher.matches()) {
-                    final String node = matcher.group(1);
-                    final GraphCommand command = new AddNode(node);
-                    return Optional.of(command);
+    private static final class Scanner {
+
+        private static final int NODE = 0;
+        private static final int WEIGHT = 1;
+        private static final int FILE = 2;
+
+        private static final int[] ONE_NODE = {NODE};
+        private static final int[] TWO_NODES = {NODE, NODE};
+        private static final int[] TWO_NODES_AND_WEIGHT = {NODE, NODE, WEIGHT};
+        private static final int[] WEIGHT_AND_NODE = {WEIGHT, NODE};
+        private static final int[] ONE_FILE = {FILE};
+
+        private final CharSequence text;
+        private final int length;
+        private final int[] starts = new int[3];
+        private final int[] ends = new int[3];
+        private int position;
+        private int[] kinds;
+
+        private Scanner(final CharSequence text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        private GraphCommand command() {
+            if (keyword("ADD")) {
+                if (keyword("NODE")) {
+                    return fields(ONE_NODE) ? new AddNode(field(0)) : null;
+                }
+                if (keyword("EDGE")) {
+                    return fields(TWO_NODES_AND_WEIGHT) ? new AddEdge(field(0), field(1), weight(2)) : null;
                 }
-                return Optional.empty();
+                return null;
             }
-        },
-
-        ADD_EDGE(
-                Pattern.compile(s + "ADD" + s + "EDGE" + s + NODE + s + NODE + s + WEIGHT + s, CASE_INSENSITIVE)
-        ) {
-            Optional<GraphCommand> parse(final String text) {
-                final Matcher matcher = pattern.matcher(text);
-                if (matcher.matches()) {
-                    final String start = matcher.group(1);
-                    final String end = matcher.group(2);
-                    final String str = matcher.group(3);
-                    final int weight = Integer.parseInt(str);
-                    final GraphCommand command = new AddEdge(start, end, weight);
-                    return Optional.of(command);
+            if (keyword("REMOVE")) {
+                if (keyword("NODE")) {
+                    return fields(ONE_NODE) ? new RemoveNode(field(0)) : null;
                 }
-                return Optional.empty();
+                if (keyword("EDGE")) {
+                    return fields(TWO_NODES) ? new RemoveEdge(field(0), field(1)) : null;
+                }
+                return null;
+            }
+            if (keyword("SHORTEST")) {
+                return keyword("PATH") && fields(TWO_NODES) ? new ShortestPath(field(0), field(1)) : null;
             }
-        },
-
-        REMOVE_NODE(
-                Pattern.compile(s + "REMOVE" + s + "NODE" + s + NODE + s, CASE_INSENSITIVE)
-        ) {
-            Optional<GraphCommand> parse(final String text) {
-                final Matcher matcher = pattern.matcher(text);
-                if (matcher.matches()) {
-                    final String node = matcher.group(1);
-                    final GraphCommand command = new RemoveNode(node);
-                    return Optional.of(command);
+            if (keyword("CLOSER")) {
+                if (!keyword("THAN")) {
+                    return null;
                 }
-                return Optional.empty();
+                return fields(WEIGHT_AND_NODE) ? new CloserThan(weight(0), field(1)) : batchCloserThan();
+            }
+            if (keyword("LOAD")) {
+                return keyword("GRAPH") && fields(ONE_FILE) ? new LoadGraph(field(0)) : null;
             }
-        },
-
-        REMOVE_EDGE(
-                Pattern.compile(s + "REMOVE" + s + "EDGE" + s + NODE + s + NODE + s, CASE_INSENSITIVE)
-        ) {
-            Optional<GraphCommand> parse(final String text) {
-                final Matcher matcher = pattern.matcher(text);
-                if (matcher.matches()) {
-                    final String start = matcher.group(1);
-                    final String end = matcher.group(2);
-                    final GraphCommand command = new RemoveEdge(start, end);
-                    return Optional.of(command);
+            return null;
+        }
+
+        private GraphCommand batchCloserThan() {
+            final int at = skipSpace(position);
+            final int end = run(WEIGHT, at);
+            if (end == at) {
+                return null;
+            }
+            starts[0] = at;
+            ends[0] = end;
+            final List<String> nodes = new ArrayList<>();
+            for (int from = skipSpace(end), to; from < length; from = skipSpace(to)) {
+                to = run(NODE, from);
+                if (to == from) {
+                    return null;
                 }
-                return Optional.empty();
+                nodes.add(text.subSequence(from, to).toString());
             }
-        },
-
-        SHORTEST_PATH(
-                Pattern.compile(s + "SHORTEST" + s + "PATH" + s + NODE + s + NODE + s, CASE_INSENSITIVE)
-        ) {
-            Optional<GraphCommand> parse(final String text) {
-                final Matcher matcher = pattern.matcher(text);
-                if (matcher.matches()) {
-                    final String start = matcher.group(1);
-                    final String end = matcher.group(2);
-                    final GraphCommand command = new ShortestPath(start, end);
-                    return Optional.of(command);
+            return nodes.size() > 1 ? new BatchCloserThan(weight(0), nodes) : null;
+        }
+
+        private int run(final int kind, int at) {
+            while (at < length && accepts(kind, text.charAt(at))) {
+                at++;
+            }
+            return at;
+        }
+
+        private boolean keyword(final String word) {
+            final int at = skipSpace(position);
+            if (length - at < word.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                final char c = text.charAt(at + i);
+                if (c >= 128 || Character.toUpperCase(c) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            position = at + word.length();
+            return true;
+        }
+
+        private boolean fields(final int[] kinds) {
+            this.kinds = kinds;
+            return match(0, position);
+        }
+
+        private boolean match(final int field, final int from) {
+            final int at = skipSpace(from);
+            if (field == kinds.length) {
+                return at == length;
+            }
+            for (int end = run(kinds[field], at); end > at; end--) {
+                if (match(field + 1, end)) {
+                    starts[field] = at;
+                    ends[field] = end;
+                    return true;
                 }
-                return Optional.empty();
             }
-        },
-
-        CLOSER_THAN(
-                Pattern.compile(s + "CLOSER" + s + "THAN" + s + WEIGHT + s + NODE + s, CASE_INSENSITIVE)
-        ) {
-            Optional<GraphCommand> parse(final String text) {
-                final Matcher matcher = pattern.matcher(text);
-                if (matcher.matches()) {
-                    final String str = matcher.group(1);
-                    final int weight = Integer.parseInt(str);
-                    final String node = matcher.group(2);
-                    final GraphCommand command = new CloserThan(weight, node);
-                    return Optional.of(command);
+            return false;
+        }
+
+        private String field(final int field) {
+            return text.subSequence(starts[field], ends[field]).toString();
+        }
+
+        private int weight(final int field) {
+            int weight = 0;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                final int digit = text.charAt(i) - '0';
+                if (weight > (Integer.MAX_VALUE - digit) / 10) {
+                    throw new NumberFormatException("For input string: \"" + field(field) + "\"");
                 }
-                return Optional.empty();
+                weight = weight * 10 + digit;
             }
-        };
+            return weight;
+        }
 
-        final Pattern pattern;
+        private int skipSpace(int at) {
+            while (at < length && space(text.charAt(at))) {
+                at++;
+            }
+            return at;
+        }
 
+        private static boolean accepts(final int kind, final char c) {
+            if (kind == FILE) {
+                return !space(c);
+            }
+            final boolean digit = c >= '0' && c <= '9';
+            return kind == WEIGHT ? digit : digit || c == '-' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
 
-        abstract Optional<GraphCommand> parse(String text);
+        private static boolean space(final char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
     }
 }
@@ -31,7 +31,7 @@ public final class Messages {
         return Optional.empty();
     }
 
-    public static boolean clientEndedSession(final String request) {
+    public static boolean clientEndedSession(final CharSequence request) {
         return CLIENT_FAREWELL.matcher(request).matches();
     }
 
@@ -42,8 +42,13 @@ public final class Messages {
     public static final String NODE_REMOVED = "NODE REMOVED";
     public static final String EDGE_REMOVED = "EDGE REMOVED";
 
+    public static final String GRAPH_LOADED = "GRAPH LOADED";
+
     public static final String NODE_NOT_FOUND = "ERROR: NODE NOT FOUND";
     public static final String NODE_ALREADY_EXISTS = "ERROR: NODE ALREADY EXISTS";
+    public static final String GRAPH_NOT_LOADED = "ERROR: GRAPH NOT LOADED";
+    public static final String MUTATION_NOT_LOGGED = "ERROR: MUTATION NOT LOGGED";
+    public static final String JOURNAL_FAILED = "ERROR: JOURNAL FAILED";
 
     private static final String SHORTEST_PATH = "%d";
 
@@ -54,4 +59,8 @@ public final class Messages {
     public static String closerThan(final List<String> names) {
         return String.join(",", names);
     }
+
+    public static String lines(final List<String> responses) {
+        return String.join(System.lineSeparator(), responses);
+    }
 }
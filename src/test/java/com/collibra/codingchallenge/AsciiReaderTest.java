@@ -0,0 +1,65 @@
+package com.collibra.codingchallenge;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.collibra.codingchallenge.parsing.Messages.NODE_ADDED;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public final class AsciiReaderTest {
+
+    @Test
+    public void lines_end_like_in_buffered_reader() throws IOException {
+        // given
+        final AsciiReader reader = reader("ADD NODE a\nADD NODE b\r\nADD NODE c\r\rADD NODE d");
+        final AsciiLine line = new AsciiLine();
+        final List<String> lines = new ArrayList<>();
+        // when
+        while (reader.readLine(line)) {
+            lines.add(line.toString());
+        }
+        // then
+        assertThat(lines, is(asList("ADD NODE a", "ADD NODE b", "ADD NODE c", "", "ADD NODE d")));
+    }
+
+    @Test
+    public void output_is_flushed_only_before_blocking_for_input() throws IOException {
+        // given
+        final AtomicInteger flushes = new AtomicInteger();
+        final byte[] input = "ADD NODE a\r\nADD NODE b\r\n".getBytes(ISO_8859_1);
+        final AsciiReader reader = new AsciiReader(new ByteArrayInputStream(input), flushes::incrementAndGet);
+        final AsciiLine line = new AsciiLine();
+        // when
+        reader.readLine(line);
+        reader.readLine(line);
+        final int buffered = flushes.get();
+        final boolean read = reader.readLine(line);
+        // then
+        assertThat(buffered, is(0));
+        assertThat(read, is(false));
+        assertThat(flushes.get(), is(1));
+    }
+
+    @Test
+    public void constant_responses_are_encoded_once() {
+        // when
+        final byte[] encoded = AsciiCodec.encode(NODE_ADDED);
+        // then
+        assertThat(AsciiCodec.encode(NODE_ADDED), is(sameInstance(encoded)));
+        assertThat(new String(encoded, ISO_8859_1), is(NODE_ADDED + System.getProperty("line.separator")));
+        assertThat(new String(AsciiCodec.encode("12"), ISO_8859_1), is("12" + System.getProperty("line.separator")));
+    }
+
+    private static AsciiReader reader(final String input) {
+        return new AsciiReader(new ByteArrayInputStream(input.getBytes(ISO_8859_1)));
+    }
+}
@@ -0,0 +1,474 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class GraphManagerTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void cached_answers_are_not_served_after_mutations() {
+        for (final GraphMode mode : GraphMode.values()) {
+            // given
+            final GraphManager manager = new GraphManager(mode, 16, 0);
+            manager.handle(new AddNode("a"));
+            manager.handle(new AddNode("b"));
+            manager.handle(new AddNode("c"));
+            manager.handle(new AddEdge("a", "b", 5));
+            // when
+            final String first = manager.handle(new ShortestPath("a", "b"));
+            final String second = manager.handle(new ShortestPath("a", "b"));
+            manager.handle(new AddEdge("a", "c", 1));
+            manager.handle(new AddEdge("c", "b", 1));
+            final String third = manager.handle(new ShortestPath("a", "b"));
+            final String closer = manager.handle(new CloserThan(3, "a"));
+            manager.handle(new RemoveNode("c"));
+            final String fourth = manager.handle(new ShortestPath("a", "b"));
+            final String closerAgain = manager.handle(new CloserThan(3, "a"));
+            // then
+            assertThat(first, is("5"));
+            assertThat(second, is("5"));
+            assertThat(third, is("2"));
+            assertThat(fourth, is("5"));
+            assertThat(closer, is("b,c"));
+            assertThat(closerAgain, is(""));
+            final QueryCache.Stats stats = manager.cacheStats().get();
+            assertThat(stats.hits, is(1L));
+            assertThat(stats.misses, is(5L));
+        }
+    }
+
+    @Test
+    public void batches_answer_like_single_queries_in_request_order() {
+        for (final GraphMode mode : GraphMode.values()) {
+            // given
+            final Random random = new Random(18);
+            final GraphManager manager = new GraphManager(mode, 16, mode == GraphMode.COMPACT ? 1 << 20 : 0);
+            for (int i = 0; i < 1_000; i++) {
+                final String start = "n" + random.nextInt(100);
+                final String end = "n" + random.nextInt(100);
+                manager.handle(new AddNode(start));
+                manager.handle(new AddNode(end));
+                manager.handle(new AddEdge(start, end, random.nextInt(10)));
+            }
+            final List<String> nodes = new ArrayList<>();
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                nodes.add("n" + random.nextInt(110));
+                expected.add(manager.handle(new CloserThan(12, nodes.get(i))));
+            }
+            // when
+            final String batch = manager.handle(new BatchCloserThan(12, nodes));
+            // then
+            assertThat(asList(batch.split(System.lineSeparator(), -1)), is(expected));
+        }
+    }
+
+    @Test
+    public void landmarks_follow_mutations_in_the_background() throws InterruptedException {
+        // given
+        final Random random = new Random(20);
+        final GraphManager plain = new GraphManager(GraphMode.LOCKING, 0, 0);
+        final GraphManager landmarked = new GraphManager(GraphMode.COMPACT, 0, 0, 4, null);
+        for (int i = 0; i < 3_000; i++) {
+            final String start = "n" + random.nextInt(200);
+            final String end = "n" + random.nextInt(200);
+            final GraphCommand command = random.nextInt(3) == 0
+                    ? new AddNode(start)
+                    : random.nextInt(8) == 0 ? new RemoveEdge(start, end) : new AddEdge(start, end, random.nextInt(30));
+            // when
+            plain.handle(command);
+            landmarked.handle(command);
+            final ShortestPath query = new ShortestPath(start, end);
+            // then
+            assertThat(landmarked.handle(query), is(plain.handle(query)));
+        }
+        while (!landmarked.landmarks().isPresent()) {
+            Thread.sleep(10);
+        }
+        assertThat(landmarked.landmarks().get().count(), is(4));
+        for (int i = 0; i < 200; i++) {
+            final ShortestPath query = new ShortestPath("n" + random.nextInt(200), "n" + random.nextInt(200));
+            assertThat(landmarked.handle(query), is(plain.handle(query)));
+        }
+    }
+
+    @Test
+    public void hierarchy_follows_mutations_in_the_background() throws InterruptedException {
+        // given
+        final Random random = new Random(21);
+        final GraphManager plain = new GraphManager(GraphMode.LOCKING, 0, 0);
+        final GraphManager contracted = new GraphManager(GraphMode.COMPACT, 0, 0, 0, true, null);
+        for (int i = 0; i < 3_000; i++) {
+            final String start = "n" + random.nextInt(200);
+            final String end = "n" + random.nextInt(200);
+            final GraphCommand command = random.nextInt(3) == 0
+                    ? new AddNode(start)
+                    : random.nextInt(8) == 0 ? new RemoveNode(start) : new AddEdge(start, end, random.nextInt(30));
+            // when
+            plain.handle(command);
+            contracted.handle(command);
+            final ShortestPath query = new ShortestPath(start, end);
+            // then
+            assertThat(contracted.handle(query), is(plain.handle(query)));
+        }
+        while (!contracted.hierarchy().isPresent() || contracted.hierarchy().get().version() == 0) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < 200; i++) {
+            final ShortestPath query = new ShortestPath("n" + random.nextInt(200), "n" + random.nextInt(200));
+            assertThat(contracted.handle(query), is(plain.handle(query)));
+        }
+    }
+
+    @Test
+    public void cache_can_be_disabled() {
+        // when
+        final GraphManager manager = new GraphManager(GraphMode.LOCKING, 0, 0);
+        // then
+        assertThat(manager.cacheStats().isPresent(), is(false));
+    }
+
+    @Test
+    public void shortest_path_trees_answer_every_query_from_the_same_source() {
+        // given
+        final GraphManager manager = new GraphManager(GraphMode.COMPACT, 0, 1 << 20);
+        manager.handle(new AddNode("a"));
+        manager.handle(new AddNode("b"));
+        manager.handle(new AddNode("c"));
+        manager.handle(new AddEdge("a", "b", 5));
+        manager.handle(new AddEdge("b", "c", 1));
+        // when
+        final String toB = manager.handle(new ShortestPath("a", "b"));
+        final String toC = manager.handle(new ShortestPath("a", "c"));
+        final String closer = manager.handle(new CloserThan(6, "a"));
+        final String toNowhere = manager.handle(new ShortestPath("a", "nowhere"));
+        // then
+        assertThat(toB, is("5"));
+        assertThat(toC, is("6"));
+        assertThat(closer, is("b"));
+        assertThat(toNowhere, is("ERROR: NODE NOT FOUND"));
+        final TreeCache.Stats stats = manager.treeStats().get();
+        assertThat(stats.misses, is(1L));
+        assertThat(stats.hits, is(3L));
+    }
+
+    @Test
+    public void cached_trees_agree_with_plain_queries() {
+        // given
+        final Random random = new Random(3);
+        final GraphManager plain = new GraphManager(GraphMode.LOCKING, 0, 0);
+        final GraphManager cached = new GraphManager(GraphMode.COMPACT, 64, 1 << 20);
+        for (int i = 0; i < 5_000; i++) {
+            final String start = "n" + random.nextInt(40);
+            final String end = "n" + random.nextInt(40);
+            final int weight = random.nextInt(10);
+            final GraphCommand command;
+            switch (random.nextInt(12)) {
+                case 0:
+                    command = new RemoveNode(start);
+                    break;
+                case 1:
+                    command = new AddNode(start);
+                    break;
+                case 2:
+                    command = new RemoveEdge(start, end);
+                    break;
+                case 3:
+                case 4:
+                    command = new AddEdge(start, end, weight);
+                    break;
+                case 5:
+                case 6:
+                    command = new CloserThan(weight * 3, start);
+                    break;
+                default:
+                    command = new ShortestPath(start, end);
+            }
+            // when
+            final String expected = plain.handle(command);
+            final String actual = cached.handle(command);
+            // then
+            assertThat(command.toString(), actual, is(expected));
+        }
+    }
+
+    @Test
+    public void edge_mutations_repair_cached_trees_in_place() {
+        // given
+        final GraphManager manager = new GraphManager(GraphMode.COMPACT, 0, 1 << 20);
+        manager.handle(new AddNode("a"));
+        manager.handle(new AddNode("b"));
+        manager.handle(new AddNode("c"));
+        manager.handle(new AddEdge("a", "b", 5));
+        manager.handle(new AddEdge("a", "c", 1));
+        // when
+        final String before = manager.handle(new ShortestPath("a", "b"));
+        manager.handle(new AddEdge("c", "b", 1));
+        final String shortcut = manager.handle(new ShortestPath("a", "b"));
+        manager.handle(new RemoveEdge("c", "b"));
+        final String detour = manager.handle(new ShortestPath("a", "b"));
+        manager.handle(new AddNode("d"));
+        final String closer = manager.handle(new CloserThan(6, "a"));
+        // then
+        assertThat(before, is("5"));
+        assertThat(shortcut, is("2"));
+        assertThat(detour, is("5"));
+        assertThat(closer, is("b,c"));
+        final TreeCache.Stats stats = manager.treeStats().get();
+        assertThat(stats.misses, is(1L));
+        assertThat(stats.hits, is(3L));
+        assertThat(stats.repairs, is(3L));
+    }
+
+    @Test
+    public void repaired_trees_agree_with_plain_queries() {
+        // given
+        final Random random = new Random(5);
+        final GraphManager plain = new GraphManager(GraphMode.LOCKING, 0, 0);
+        final GraphManager repaired = new GraphManager(GraphMode.COMPACT, 0, 1 << 20);
+        for (int i = 0; i < 40; i++) {
+            plain.handle(new AddNode("n" + i));
+            repaired.handle(new AddNode("n" + i));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            final String start = "n" + random.nextInt(40);
+            final String end = "n" + random.nextInt(40);
+            final String source = "n" + random.nextInt(4);
+            final int weight = random.nextInt(10);
+            final GraphCommand command;
+            switch (random.nextInt(8)) {
+                case 0:
+                case 1:
+                    command = new RemoveEdge(start, end);
+                    break;
+                case 2:
+                case 3:
+                case 4:
+                    command = new AddEdge(start, end, weight);
+                    break;
+                case 5:
+                    command = new CloserThan(weight * 3, source);
+                    break;
+                default:
+                    command = new ShortestPath(source, end);
+            }
+            // when
+            final String expected = plain.handle(command);
+            final String actual = repaired.handle(command);
+            // then
+            assertThat(command.toString(), actual, is(expected));
+        }
+        assertThat(repaired.treeStats().get().misses, is(4L));
+    }
+
+    @Test
+    public void loading_replaces_the_graph_in_every_mode() throws IOException {
+        // given
+        final Path file = folder.newFile().toPath();
+        Files.write(file, "a b 2\nb c 2\n".getBytes());
+        for (final GraphMode mode : GraphMode.values()) {
+            final GraphManager manager = new GraphManager(mode, 16, mode == GraphMode.COMPACT ? 1 << 20 : 0);
+            manager.handle(new AddNode("a"));
+            manager.handle(new AddNode("old"));
+            manager.handle(new AddEdge("a", "old", 1));
+            final String before = manager.handle(new CloserThan(5, "a"));
+            // when
+            final String loaded = manager.load(file.toString());
+            final String missing = manager.load(file + ".missing");
+            // then
+            assertThat(before, is("old"));
+            assertThat(loaded, is("GRAPH LOADED"));
+            assertThat(missing, is("ERROR: GRAPH NOT LOADED"));
+            assertThat(manager.handle(new CloserThan(5, "a")), is("b,c"));
+            assertThat(manager.handle(new ShortestPath("a", "old")), is("ERROR: NODE NOT FOUND"));
+            assertThat(manager.handle(new AddEdge("c", "a", 1)), is("EDGE ADDED"));
+            assertThat(manager.handle(new ShortestPath("c", "b")), is("3"));
+        }
+    }
+
+    @Test
+    public void loaded_graphs_and_later_mutations_survive_a_restart_in_every_mode() throws IOException {
+        // given
+        final Path file = folder.newFile().toPath();
+        Files.write(file, "a b 2\nb c 2\n".getBytes());
+        for (final GraphMode mode : GraphMode.values()) {
+            final File journal = folder.newFolder();
+            final GraphManager manager = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            manager.handle(new AddNode("old"));
+            // when
+            final String loaded = manager.load(file.toString());
+            manager.handle(new AddEdge("a", "c", 1));
+            final GraphManager restarted = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            // then
+            assertThat(manager.recovered(), is(false));
+            assertThat(restarted.recovered(), is(true));
+            assertThat(loaded, is("GRAPH LOADED"));
+            assertThat(restarted.handle(new ShortestPath("a", "c")), is("1"));
+            assertThat(restarted.handle(new AddNode("old")), is("NODE ADDED"));
+        }
+    }
+
+    @Test
+    public void load_that_cannot_be_snapshotted_is_refused_in_every_mode() throws IOException {
+        // given
+        final Path file = folder.newFile().toPath();
+        Files.write(file, "a b 2\n".getBytes());
+        for (final GraphMode mode : GraphMode.values()) {
+            final File journal = folder.newFolder();
+            final GraphManager manager = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            manager.handle(new AddNode("old"));
+            Files.createDirectory(journal.toPath().resolve("snapshot-staged.tmp"));
+            // when
+            final String loaded = manager.load(file.toString());
+            final GraphManager restarted = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            // then
+            assertThat(loaded, is("ERROR: GRAPH NOT LOADED"));
+            assertThat(manager.handle(new AddNode("old")), is("ERROR: NODE ALREADY EXISTS"));
+            assertThat(manager.handle(new AddNode("a")), is("NODE ADDED"));
+            assertThat(restarted.handle(new AddNode("old")), is("ERROR: NODE ALREADY EXISTS"));
+        }
+    }
+
+    @Test
+    public void clients_load_graphs_only_from_the_import_directory() throws IOException {
+        // given
+        final File imports = folder.newFolder();
+        final Path inside = imports.toPath().resolve("graph.txt");
+        final Path outside = folder.newFile().toPath();
+        Files.write(inside, "a b 2\n".getBytes());
+        Files.write(outside, "x y 2\n".getBytes());
+        final GraphManager importing = new GraphManager(GraphMode.COMPACT, 0, 0, 0, false, null, imports.toString());
+        final GraphManager closed = new GraphManager(GraphMode.COMPACT, 0, 0);
+        // when
+        final String relative = importing.handle(new LoadGraph("graph.txt"));
+        final String absolute = importing.handle(new LoadGraph(inside.toString()));
+        final String escaping = importing.handle(new LoadGraph("../" + outside.getFileName()));
+        final String elsewhere = importing.handle(new LoadGraph(outside.toString()));
+        final String disabled = closed.handle(new LoadGraph(inside.toString()));
+        // then
+        assertThat(relative, is("GRAPH LOADED"));
+        assertThat(absolute, is("GRAPH LOADED"));
+        assertThat(escaping, is("ERROR: GRAPH NOT LOADED"));
+        assertThat(elsewhere, is("ERROR: GRAPH NOT LOADED"));
+        assertThat(disabled, is("ERROR: GRAPH NOT LOADED"));
+        assertThat(importing.handle(new ShortestPath("a", "b")), is("2"));
+        assertThat(importing.handle(new ShortestPath("x", "y")), is("ERROR: NODE NOT FOUND"));
+    }
+
+    @Test
+    public void logged_mutations_survive_a_restart_in_every_mode() throws IOException {
+        for (final GraphMode mode : GraphMode.values()) {
+            // given
+            final File journal = folder.newFolder();
+            final GraphManager manager = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            manager.handle(new AddNode("a"));
+            manager.handle(new AddNode("b"));
+            manager.handle(new AddNode("c"));
+            manager.handle(new AddEdge("a", "b", 5));
+            manager.handle(new AddEdge("b", "c", 1));
+            manager.checkpoint();
+            manager.handle(new AddNode("d"));
+            manager.handle(new AddEdge("a", "d", 1));
+            manager.handle(new AddEdge("d", "c", 1));
+            manager.handle(new RemoveEdge("a", "b"));
+            manager.handle(new RemoveNode("missing"));
+            // when
+            final GraphManager restarted = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            // then
+            assertThat(restarted.handle(new ShortestPath("a", "c")), is("2"));
+            assertThat(restarted.handle(new ShortestPath("a", "b")), is("2147483647"));
+            assertThat(restarted.handle(new CloserThan(10, "a")), is("c,d"));
+            assertThat(restarted.handle(new AddNode("d")), is("ERROR: NODE ALREADY EXISTS"));
+        }
+    }
+
+    @Test
+    public void mutations_are_refused_once_the_log_cannot_be_written() throws IOException {
+        for (final GraphMode mode : GraphMode.values()) {
+            // given
+            final File journal = folder.newFolder();
+            final WriteAheadLog log = WriteAheadLog.open(journal.toPath(), 1_000);
+            final GraphManager manager = new GraphManager(mode, 16, 0, log);
+            final AtomicInteger failures = new AtomicInteger();
+            manager.onJournalFailure(failures::incrementAndGet);
+            manager.handle(new AddNode("a"));
+            log.close();
+            // when
+            final String failed = manager.handle(new AddNode("b"));
+            // then
+            assertThat(failed, is("ERROR: MUTATION NOT LOGGED"));
+            assertThat(failures.get(), is(1));
+            assertThat(manager.handle(new AddNode("c")), is("ERROR: JOURNAL FAILED"));
+            assertThat(manager.handle(new ShortestPath("b", "b")), is("ERROR: JOURNAL FAILED"));
+            assertThat(manager.handle(new CloserThan(10, "a")), is("ERROR: JOURNAL FAILED"));
+            final GraphManager restarted = new GraphManager(mode, 16, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+            assertThat(restarted.handle(new ShortestPath("a", "a")), is("0"));
+            assertThat(restarted.handle(new ShortestPath("b", "b")), is("ERROR: NODE NOT FOUND"));
+        }
+    }
+
+    @Test
+    public void torn_records_at_the_end_of_the_log_are_ignored() throws IOException {
+        // given
+        final File journal = folder.newFolder();
+        final GraphManager manager = new GraphManager(GraphMode.COMPACT, 0, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+        manager.handle(new AddNode("a"));
+        manager.handle(new AddNode("b"));
+        final File[] segments = journal.listFiles((directory, name) -> name.startsWith("wal-"));
+        Files.write(segments[0].toPath(), new byte[]{0, 0, 0, 9, 1, 2}, StandardOpenOption.APPEND);
+        // when
+        final GraphManager restarted = new GraphManager(GraphMode.COMPACT, 0, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+        restarted.handle(new AddEdge("a", "b", 3));
+        final GraphManager again = new GraphManager(GraphMode.COMPACT, 0, 0, WriteAheadLog.open(journal.toPath(), 1_000));
+        // then
+        assertThat(again.handle(new ShortestPath("a", "b")), is("3"));
+    }
+
+    @Test
+    public void metrics_count_and_time_every_command_in_every_mode() {
+        for (final GraphMode mode : GraphMode.values()) {
+            // given
+            final GraphManager manager = new GraphManager(mode, 0, 0);
+            manager.handle(new AddNode("a"));
+            manager.handle(new AddNode("b"));
+            manager.handle(new AddEdge("a", "b", 5));
+            // when
+            manager.handle(new ShortestPath("a", "b"));
+            manager.handle(new ShortestPath("b", "a"));
+            manager.handle(new CloserThan(10, "a"));
+            // then
+            final GraphMetrics metrics = manager.metrics();
+            assertThat(metrics.getNodes(), is(2));
+            assertThat(metrics.getEdges(), is(1));
+            assertThat(metrics.of(GraphMetrics.Type.ADD_NODE).getCount(), is(2L));
+            assertThat(metrics.of(GraphMetrics.Type.ADD_EDGE).getCount(), is(1L));
+            assertThat(metrics.of(GraphMetrics.Type.SHORTEST_PATH).getCount(), is(2L));
+            assertThat(metrics.of(GraphMetrics.Type.REMOVE_NODE).getCount(), is(0L));
+            assertThat(metrics.of(GraphMetrics.Type.ADD_NODE).getLockWaits(), is(2L));
+            assertThat(metrics.of(GraphMetrics.Type.SHORTEST_PATH).getLockWaits(), is(mode == GraphMode.SNAPSHOT ? 0L : 2L));
+            assertThat(metrics.of(GraphMetrics.Type.SHORTEST_PATH).getExecutionMaxMicros(), is(greaterThan(0.0)));
+            assertThat(metrics.scrape(), containsString("collibra_commands_total{command=\"closer_than\"} 1\n"));
+        }
+    }
+}
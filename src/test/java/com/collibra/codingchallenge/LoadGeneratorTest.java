@@ -0,0 +1,50 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.load.LoadGenerator;
+import com.collibra.codingchallenge.load.LoadResult;
+import com.collibra.codingchallenge.load.LoadSettings;
+import com.collibra.codingchallenge.load.RequestKind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public final class LoadGeneratorTest {
+
+    private NioServer server;
+    private Thread thread;
+
+    @Before
+    public void start() throws IOException {
+        server = new NioServer(new GraphManager(GraphMode.LOCKING, 0, 0), 0, 5_000);
+        thread = new Thread(server);
+        thread.start();
+    }
+
+    @After
+    public void stop() throws InterruptedException {
+        server.close();
+        thread.join();
+    }
+
+    @Test
+    public void load_is_replayed_at_target_rate_and_measured_per_command() throws IOException {
+        // given
+        final LoadSettings settings = new LoadSettings("localhost", server.port(), 4, 400, 0, 1, 50, 2,
+                "SHORTEST_PATH=3,ADD_EDGE=1", null);
+        // when
+        final LoadResult result = new LoadGenerator(settings).run();
+        // then
+        assertThat(result.errors(), is(0L));
+        assertThat(result.count(), is(both(greaterThan(300L)).and(lessThanOrEqualTo(400L))));
+        assertThat(result.latency(RequestKind.SHORTEST_PATH).getTotalCount(), is(greaterThan(0L)));
+        assertThat(result.latency(RequestKind.ADD_EDGE).getTotalCount(), is(greaterThan(0L)));
+        assertThat(result.latency(RequestKind.CLOSER_THAN).getTotalCount(), is(0L));
+        assertThat(result.latency(RequestKind.SHORTEST_PATH).getMaxValue(),
+                is(greaterThanOrEqualTo(result.service(RequestKind.SHORTEST_PATH).getMaxValue())));
+    }
+}
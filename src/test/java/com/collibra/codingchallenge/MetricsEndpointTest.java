@@ -0,0 +1,82 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.AddNode;
+import com.collibra.codingchallenge.commands.ShortestPath;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public final class MetricsEndpointTest {
+
+    @Test
+    public void metrics_are_scraped_as_plain_text() throws IOException {
+        // given
+        final GraphManager manager = new GraphManager(GraphMode.LOCKING, 0, 0);
+        manager.handle(new AddNode("a"));
+        manager.metrics().sessionStarted();
+        try (final MetricsEndpoint endpoint = new MetricsEndpoint(manager.metrics(), 0)) {
+            // when
+            final HttpURLConnection connection = (HttpURLConnection)
+                    new URL("http://localhost:" + endpoint.port() + MetricsEndpoint.PATH).openConnection();
+            final String text;
+            try (final InputStream body = connection.getInputStream()) {
+                text = IOUtils.toString(body, "UTF-8");
+            }
+            // then
+            assertThat(connection.getResponseCode(), is(200));
+            assertThat(connection.getContentType(), startsWith("text/plain"));
+            assertThat(text, containsString("collibra_graph_nodes 1\n"));
+            assertThat(text, containsString("collibra_sessions_active 1\n"));
+            assertThat(text, containsString("collibra_commands_total{command=\"add_node\"} 1\n"));
+            assertThat(text, containsString("collibra_command_seconds_count{command=\"add_node\"} 1\n"));
+            assertThat(text, containsString("collibra_lock_wait_seconds{command=\"add_node\",quantile=\"0.99\"} "));
+        }
+    }
+
+    @Test
+    public void metrics_are_registered_as_mbeans() throws JMException {
+        // given
+        final GraphManager manager = new GraphManager(GraphMode.COMPACT, 0, 0);
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        manager.handle(new AddNode("a"));
+        manager.handle(new AddNode("a"));
+        // when
+        manager.metrics().register(server);
+        // then
+        assertThat(server.getAttribute(new ObjectName(GraphMetrics.DOMAIN + ":type=Graph"), "Nodes"), is(1));
+        assertThat(server.getAttribute(new ObjectName(GraphMetrics.DOMAIN + ":type=Command,name=ADD_NODE"), "Count"), is(2L));
+        assertThat(server.queryNames(new ObjectName(GraphMetrics.DOMAIN + ":type=Command,*"), null), hasSize(8));
+    }
+
+    @Test
+    public void cache_statistics_are_exported() throws JMException {
+        // given
+        final GraphManager manager = new GraphManager(GraphMode.COMPACT, 16, 1 << 20);
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        manager.handle(new AddNode("a"));
+        manager.handle(new AddNode("b"));
+        manager.handle(new ShortestPath("a", "b"));
+        manager.handle(new ShortestPath("a", "b"));
+        // when
+        manager.metrics().register(server);
+        final String text = manager.metrics().scrape();
+        // then
+        assertThat(server.getAttribute(new ObjectName(GraphMetrics.DOMAIN + ":type=Cache,name=Query"), "Hits"), is(1L));
+        assertThat(server.getAttribute(new ObjectName(GraphMetrics.DOMAIN + ":type=Cache,name=Tree"), "Misses"), is(1L));
+        assertThat(text, containsString("collibra_query_cache_hits_total 1\n"));
+        assertThat(text, containsString("collibra_query_cache_misses_total 1\n"));
+        assertThat(text, containsString("collibra_query_cache_size 1\n"));
+        assertThat(text, containsString("collibra_tree_cache_misses_total 1\n"));
+    }
+}
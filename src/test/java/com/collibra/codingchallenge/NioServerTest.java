@@ -0,0 +1,155 @@
+package com.collibra.codingchallenge;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public final class NioServerTest {
+
+    private NioServer server;
+    private Thread thread;
+
+    @Before
+    public void start() throws IOException {
+        server = new NioServer(new GraphManager(GraphMode.LOCKING, 0, 0), 0, 500);
+        thread = new Thread(server);
+        thread.start();
+    }
+
+    @After
+    public void stop() throws InterruptedException {
+        server.close();
+        thread.join();
+    }
+
+    @Test
+    public void conversation_follows_the_protocol() throws IOException {
+        try (final Client client = new Client(server.port())) {
+            // when
+            final String first = client.readLine();
+            client.send("HI, I'M Marek");
+            final String response = client.readLine();
+            client.send("ADD NODE a\r\nADD NODE a\nWHAT?\rADD NODE b");
+            client.send("ADD EDGE a b 3");
+            client.send("SHORTEST PATH a b");
+            client.send("BYE MATE!");
+            // then
+            assertThat(first, startsWith("HI, I'M "));
+            assertThat(response, is("HI Marek"));
+            assertThat(client.readLine(), is("NODE ADDED"));
+            assertThat(client.readLine(), is("ERROR: NODE ALREADY EXISTS"));
+            assertThat(client.readLine(), is("SORRY, I DIDN'T UNDERSTAND THAT"));
+            assertThat(client.readLine(), is("NODE ADDED"));
+            assertThat(client.readLine(), is("EDGE ADDED"));
+            assertThat(client.readLine(), is("3"));
+            assertThat(client.readLine(), allOf(startsWith("BYE Marek, WE SPOKE FOR "), endsWith(" MS")));
+            assertThat(client.readLine(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void idle_client_is_seen_off() throws IOException {
+        try (final Client client = new Client(server.port())) {
+            // when
+            client.readLine();
+            client.send("HI, I'M idle");
+            client.readLine();
+            // then
+            assertThat(client.readLine(), startsWith("BYE idle, WE SPOKE FOR "));
+            assertThat(client.readLine(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void many_clients_are_served_at_once() throws IOException {
+        final List<Client> clients = new ArrayList<>();
+        try {
+            // when
+            for (int i = 0; i < 200; i++) {
+                final Client client = new Client(server.port());
+                clients.add(client);
+                client.readLine();
+                client.send("HI, I'M client-" + i);
+            }
+            // then
+            for (int i = 0; i < clients.size(); i++) {
+                assertThat(clients.get(i).readLine(), is("HI client-" + i));
+            }
+        } finally {
+            for (final Client client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    public void responses_held_back_from_a_slow_reader_all_arrive_in_order() throws Exception {
+        final int requests = 100_000;
+        try (final Client client = new Client(server.port())) {
+            client.readLine();
+            client.send("HI, I'M slow");
+            client.readLine();
+            client.send("ADD NODE a");
+            client.readLine();
+            // when
+            final Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < requests; i++) {
+                        client.write(i % 2 == 0 ? "SHORTEST PATH a a\n" : "SHORTEST PATH a b\n");
+                    }
+                    client.send("BYE MATE!");
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.start();
+            Thread.sleep(300);
+            // then
+            for (int i = 0; i < requests; i++) {
+                assertThat(client.readLine(), is(i % 2 == 0 ? "0" : "ERROR: NODE NOT FOUND"));
+            }
+            assertThat(client.readLine(), startsWith("BYE slow, WE SPOKE FOR "));
+            writer.join();
+        }
+    }
+
+    private static final class Client implements Closeable {
+
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final Writer writer;
+
+        private Client(final int port) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setSoTimeout(5_000);
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            writer = new OutputStreamWriter(socket.getOutputStream());
+        }
+
+        private String readLine() throws IOException {
+            return reader.readLine();
+        }
+
+        private void send(final String request) throws IOException {
+            writer.write(request + "\n");
+            writer.flush();
+        }
+
+        private void write(final String requests) throws IOException {
+            writer.write(requests);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
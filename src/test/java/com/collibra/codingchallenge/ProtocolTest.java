@@ -1,15 +1,40 @@
 package com.collibra.codingchallenge;
 
+import com.collibra.codingchallenge.commands.GraphCommand;
+import com.collibra.codingchallenge.parsing.GraphCommandParser;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.util.Optional;
 
 import static com.collibra.codingchallenge.parsing.Messages.nodeName;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThat;
 
 public final class ProtocolTest {
 
+    private ServerSocket server;
+    private Thread thread;
+
+    @Before
+    public void start() throws IOException {
+        server = new ServerSocket(0);
+        final GraphManager manager = new GraphManager(GraphMode.LOCKING, 0, 0);
+        thread = new Thread(() -> serve(manager));
+        thread.start();
+    }
+
+    @After
+    public void stop() throws IOException, InterruptedException {
+        server.close();
+        thread.join();
+    }
+
     @Test
     public void client_hi() {
         // when
@@ -25,4 +50,75 @@ public final class ProtocolTest {
         // then
         assertThat(name, is(Optional.of("double-barrelled")));
     }
+
+    @Test
+    public void pipelined_requests_are_all_answered_in_order() throws IOException {
+        try (final Socket socket = connect()) {
+            final BufferedReader reader = greet(socket);
+            final StringBuilder requests = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                requests.append("ADD NODE n").append(i / 2).append('\n');
+            }
+            // when
+            write(socket, requests.toString());
+            // then
+            for (int i = 0; i < 100; i++) {
+                assertThat(reader.readLine(), is(i % 2 == 0 ? "NODE ADDED" : "ERROR: NODE ALREADY EXISTS"));
+            }
+        }
+    }
+
+    @Test
+    public void response_is_flushed_while_the_next_request_is_incomplete() throws IOException {
+        try (final Socket socket = connect()) {
+            final BufferedReader reader = greet(socket);
+            // when
+            write(socket, "ADD NODE a\nADD NO");
+            final String first = reader.readLine();
+            write(socket, "DE b\nBYE MATE!\n");
+            // then
+            assertThat(first, is("NODE ADDED"));
+            assertThat(reader.readLine(), is("NODE ADDED"));
+            assertThat(reader.readLine(), startsWith("BYE tester, WE SPOKE FOR "));
+        }
+    }
+
+    private Socket connect() throws IOException {
+        final Socket socket = new Socket("localhost", server.getLocalPort());
+        socket.setSoTimeout(5_000);
+        return socket;
+    }
+
+    private static BufferedReader greet(final Socket socket) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+        reader.readLine();
+        write(socket, "HI, I'M tester\n");
+        reader.readLine();
+        return reader;
+    }
+
+    private static void write(final Socket socket, final String text) throws IOException {
+        final OutputStream output = socket.getOutputStream();
+        output.write(text.getBytes("US-ASCII"));
+        output.flush();
+    }
+
+    private void serve(final GraphManager manager) {
+        try (final Protocol protocol = new Protocol(server.accept(), true)) {
+            protocol.initialize();
+            protocol.exchangeFormalities();
+            for (final CharSequence request : protocol.requests()) {
+                final Optional<GraphCommand> command = GraphCommandParser.parse(request);
+                if (command.isPresent()) {
+                    protocol.respond(manager.handle(command.get()));
+                } else {
+                    protocol.notSupportedCommand();
+                }
+            }
+        } catch (final IOException e) {
+            if (!server.isClosed()) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
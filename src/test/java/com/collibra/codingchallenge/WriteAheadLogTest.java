@@ -0,0 +1,194 @@
+package com.collibra.codingchallenge;
+
+import com.collibra.codingchallenge.commands.AddNode;
+import com.collibra.codingchallenge.commands.GraphCommand;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class WriteAheadLogTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void log_fails_for_good_after_the_first_write_error() throws Exception {
+        // given
+        final Path journal = folder.newFolder().toPath();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final WriteAheadLog log = WriteAheadLog.open(journal, 1_000,
+                path -> new FailingChannel(FileChannel.open(path, CREATE_NEW, WRITE), writing, release));
+        log.recover(0, mutation -> {
+        });
+        final AtomicInteger failed = new AtomicInteger();
+        // when
+        final Thread first = committer(log, log.append(new AddNode("a")), failed);
+        first.start();
+        writing.await();
+        final Thread second = committer(log, log.append(new AddNode("b")), failed);
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        first.join();
+        second.join();
+        // then
+        assertThat(failed.get(), is(2));
+        assertThat(appendFails(log), is(true));
+        final List<GraphCommand> replayed = new ArrayList<>();
+        WriteAheadLog.open(journal, 1_000).recover(0, replayed::add);
+        assertThat(replayed, is(empty()));
+    }
+
+    private static Thread committer(final WriteAheadLog log, final long sequence, final AtomicInteger failed) {
+        return new Thread(() -> {
+            try {
+                log.commit(sequence);
+            } catch (final UncheckedIOException e) {
+                failed.incrementAndGet();
+            }
+        });
+    }
+
+    private static boolean appendFails(final WriteAheadLog log) {
+        try {
+            log.append(new AddNode("c"));
+            return false;
+        } catch (final UncheckedIOException e) {
+            return true;
+        }
+    }
+
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+        private final CountDownLatch writing;
+        private final CountDownLatch release;
+        private boolean failed;
+
+        private FailingChannel(final FileChannel channel, final CountDownLatch writing, final CountDownLatch release) {
+            this.channel = channel;
+            this.writing = writing;
+            this.release = release;
+        }
+
+        @Override
+        public int write(final ByteBuffer source) throws IOException {
+            if (!failed) {
+                failed = true;
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("No space left on device");
+            }
+            return channel.write(source);
+        }
+
+        @Override
+        public long write(final ByteBuffer[] sources, final int offset, final int length) throws IOException {
+            return channel.write(sources, offset, length);
+        }
+
+        @Override
+        public int write(final ByteBuffer source, final long position) throws IOException {
+            return channel.write(source, position);
+        }
+
+        @Override
+        public int read(final ByteBuffer target) throws IOException {
+            return channel.read(target);
+        }
+
+        @Override
+        public long read(final ByteBuffer[] targets, final int offset, final int length) throws IOException {
+            return channel.read(targets, offset, length);
+        }
+
+        @Override
+        public int read(final ByteBuffer target, final long position) throws IOException {
+            return channel.read(target, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(final long position) throws IOException {
+            channel.position(position);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(final long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(final boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(final long position, final long count, final WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(final ReadableByteChannel source, final long position, final long count) throws IOException {
+            return channel.transferFrom(source, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(final MapMode mode, final long position, final long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(final long position, final long size, final boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(final long position, final long size, final boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
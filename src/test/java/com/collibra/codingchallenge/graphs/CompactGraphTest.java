@@ -0,0 +1,198 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.collibra.codingchallenge.graphs.GraphOps.*;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class CompactGraphTest {
+
+    @Test
+    public void removing_node_removes_incoming_outgoing_and_looping_edges() {
+        // given
+        final CompactGraph graph = compactGraph();
+        addNode(graph, "a");
+        addNode(graph, "b");
+        addNode(graph, "c");
+        addEdge(graph, 1, "a", "b");
+        addEdge(graph, 2, "b", "c");
+        addEdge(graph, 3, "b", "b");
+        addEdge(graph, 4, "c", "a");
+        // when
+        removeNode(graph, "b");
+        // then
+        assertThat(graph.getVertexCount(), is(2));
+        assertThat(graph.getEdgeCount(), is(1));
+        assertThat(containsEdge(graph, edge(4, "c", "a")), is(true));
+        assertThat(graph.getOutEdges(node("a")).isEmpty(), is(true));
+        assertThat(graph.getInEdges(node("c")).isEmpty(), is(true));
+        // when
+        addNode(graph, "b");
+        // then
+        assertThat(graph.getInEdges(node("b")).isEmpty(), is(true));
+        assertThat(graph.getOutEdges(node("b")).isEmpty(), is(true));
+    }
+
+    @Test
+    public void parallel_edges_with_different_weights_are_kept_and_removed_together() {
+        // given
+        final CompactGraph graph = compactGraph();
+        addNode(graph, "a");
+        addNode(graph, "b");
+        // when
+        addEdge(graph, 5, "a", "b");
+        addEdge(graph, 3, "a", "b");
+        addEdge(graph, 5, "a", "b");
+        // then
+        assertThat(graph.getEdgeCount(), is(2));
+        assertThat(shortestPath(graph, "a", "b").get(), is(3));
+        // when
+        removeEdge(graph, "a", "b");
+        // then
+        assertThat(graph.getEdgeCount(), is(0));
+        assertThat(shortestPath(graph, "a", "b").get(), is(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void copy_does_not_follow_later_mutations() {
+        // given
+        final CompactGraph graph = compactGraph();
+        addNode(graph, "a");
+        addNode(graph, "b");
+        addNode(graph, "c");
+        addEdge(graph, 1, "a", "b");
+        addEdge(graph, 2, "b", "c");
+        // when
+        final CompactGraph copy = graph.copy();
+        removeNode(graph, "b");
+        addNode(graph, "d");
+        addEdge(graph, 3, "a", "d");
+        // then
+        assertThat(copy.getVertexCount(), is(3));
+        assertThat(copy.getEdgeCount(), is(2));
+        assertThat(copy.containsNode("d"), is(false));
+        assertThat(shortestPath(copy, "a", "c"), is(Optional.of(3)));
+        assertThat(shortestPath(graph, "a", "c"), is(Optional.of(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void behaves_like_jung_graph() {
+        // given
+        final Random random = new Random(7);
+        final Graph<Node, Edge> expected = graph();
+        final CompactGraph actual = compactGraph();
+        // when
+        for (int i = 0; i < 20_000; i++) {
+            final String start = "n" + random.nextInt(60);
+            final String end = "n" + random.nextInt(60);
+            final int weight = random.nextInt(10);
+            switch (random.nextInt(10)) {
+                case 0:
+                    assertThat(removeNode(actual, start), is(removeNode(expected, start)));
+                    break;
+                case 1:
+                case 2:
+                    assertThat(addNode(actual, start), is(addNode(expected, start)));
+                    break;
+                case 3:
+                case 4:
+                    assertThat(removeEdge(actual, start, end), is(removeEdge(expected, start, end)));
+                    break;
+                case 9:
+                    assertThat(shortestPath(actual, start, end), is(shortestPath(expected, start, end)));
+                    assertThat(closerThan(actual, weight * 3, start), is(closerThan(expected, weight * 3, start)));
+                    break;
+                default:
+                    assertThat(addEdge(actual, weight, start, end), is(addEdge(expected, weight, start, end)));
+            }
+            // then
+            assertThat(actual.getVertexCount(), is(expected.getVertexCount()));
+            assertThat(actual.getEdgeCount(), is(expected.getEdgeCount()));
+        }
+        assertThat(new HashSet<>(actual.getVertices()), is(new HashSet<>(expected.getVertices())));
+        assertThat(new HashSet<>(actual.getEdges()), is(new HashSet<>(expected.getEdges())));
+    }
+
+    @Test
+    public void delta_stepping_agrees_with_jung_dijkstra() {
+        // given
+        final Random random = new Random(19);
+        final Graph<Node, Edge> expected = graph();
+        final CompactGraph actual = compactGraph();
+        for (int i = 0; i < 400; i++) {
+            addNode(expected, "n" + i);
+            addNode(actual, "n" + i);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            final String start = "n" + random.nextInt(400);
+            final String end = "n" + random.nextInt(400);
+            final int weight = random.nextInt(4) == 0 ? random.nextInt(3) : random.nextInt(1_000);
+            if (random.nextInt(10) == 0) {
+                removeEdge(expected, start, end);
+                removeEdge(actual, start, end);
+            } else {
+                addEdge(expected, weight, start, end);
+                addEdge(actual, weight, start, end);
+            }
+        }
+        final DeltaStepping deltaStepping = new DeltaStepping(new ForkJoinPool(4), 2);
+        for (int i = 0; i < 500; i++) {
+            final String start = "n" + random.nextInt(400);
+            final String end = "n" + random.nextInt(400);
+            // when
+            final long distance = deltaStepping.distance(actual, actual.id(start), actual.id(end));
+            // then
+            final Number jung = new DijkstraShortestPath<>(expected, (Edge e) -> e.weight).getDistance(node(start), node(end));
+            assertThat(distance, is(jung == null ? Dijkstra.UNREACHABLE : jung.longValue()));
+        }
+    }
+
+    @Test
+    public void point_to_point_searches_agree_with_jung_dijkstra() {
+        // given
+        final Random random = new Random(20);
+        final Graph<Node, Edge> expected = graph();
+        final CompactGraph compact = compactGraph();
+        final PersistentGraph persistent = persistentGraph();
+        for (int i = 0; i < 300; i++) {
+            for (final Graph<Node, Edge> graph : asList(expected, compact, persistent)) {
+                addNode(graph, "n" + i);
+            }
+        }
+        for (int i = 0; i < 1_500; i++) {
+            final String start = "n" + random.nextInt(300);
+            final String end = "n" + random.nextInt(300);
+            final int weight = random.nextInt(50);
+            for (final Graph<Node, Edge> graph : asList(expected, compact, persistent)) {
+                addEdge(graph, weight, start, end);
+            }
+        }
+        removeNode(compact, "n0");
+        removeNode(expected, "n0");
+        removeNode(persistent, "n0");
+        final Landmarks landmarks = Landmarks.prepare(compact, 4).get();
+        final ContractionHierarchy hierarchy = ContractionHierarchy.prepare(compact).get();
+        for (int i = 0; i < 500; i++) {
+            final String start = "n" + (1 + random.nextInt(299));
+            final String end = "n" + (1 + random.nextInt(299));
+            // when
+            final Number jung = new DijkstraShortestPath<>(expected, (Edge e) -> e.weight).getDistance(node(start), node(end));
+            // then
+            final Optional<Integer> distance = Optional.of(jung == null ? Integer.MAX_VALUE : jung.intValue());
+            assertThat(shortestPath(expected, start, end), is(distance));
+            assertThat(shortestPath(persistent, start, end), is(distance));
+            assertThat(shortestPath(compact, start, end), is(distance));
+            assertThat(shortestPath(compact, start, end, landmarks), is(distance));
+            assertThat(shortestPath(compact, start, end, hierarchy), is(distance));
+        }
+    }
+}
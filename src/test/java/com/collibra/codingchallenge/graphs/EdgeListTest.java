@@ -0,0 +1,92 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+
+import static com.collibra.codingchallenge.graphs.GraphOps.*;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class EdgeListTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reads_nodes_edges_and_comments() throws IOException {
+        // given
+        final Path file = file("# nodes and edges\na\n\ta b 3\r\nb c 4\n\nc a 0\na b 3\nlonely");
+        // when
+        final EdgeList edges = EdgeList.read(file);
+        final CompactGraph compact = edges.compactGraph(0);
+        final Graph<Node, Edge> jung = edges.into(graph());
+        // then
+        assertThat(edges.nodes(), is(4));
+        assertThat(edges.edges(), is(4));
+        assertThat(compact.getVertexCount(), is(4));
+        assertThat(compact.getEdgeCount(), is(3));
+        assertThat(jung.getEdgeCount(), is(3));
+        assertThat(shortestPath(compact, "a", "c").get(), is(7));
+        assertThat(containsNode(compact, "lonely"), is(true));
+        assertThat(compact.version() > 0, is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejects_edges_without_weight() throws IOException {
+        EdgeList.read(file("a b\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejects_names_outside_the_protocol_grammar() throws IOException {
+        EdgeList.read(file("a b_c 1\n"));
+    }
+
+    @Test
+    public void loaded_graph_behaves_like_built_graph() throws IOException {
+        // given
+        final Random random = new Random(13);
+        final StringBuilder lines = new StringBuilder();
+        final Graph<Node, Edge> expected = graph();
+        for (int i = 0; i < 5_000; i++) {
+            final String start = "n" + random.nextInt(500);
+            final String end = "n" + random.nextInt(500);
+            final int weight = random.nextInt(20);
+            lines.append(start).append(' ').append(end).append(' ').append(weight).append('\n');
+            addNode(expected, start);
+            addNode(expected, end);
+            addEdge(expected, weight, start, end);
+        }
+        // when
+        final CompactGraph actual = EdgeList.read(file(lines.toString())).compactGraph(0);
+        // then
+        assertThat(new HashSet<>(actual.getVertices()), is(new HashSet<>(expected.getVertices())));
+        assertThat(new HashSet<>(actual.getEdges()), is(new HashSet<>(expected.getEdges())));
+        for (int i = 0; i < 200; i++) {
+            final String start = "n" + random.nextInt(500);
+            final String end = "n" + random.nextInt(500);
+            assertThat(shortestPath(actual, start, end), is(shortestPath(expected, start, end)));
+        }
+        // when
+        removeNode(actual, "n1");
+        addEdge(actual, 1, "n2", "n3");
+        removeNode(expected, "n1");
+        addEdge(expected, 1, "n2", "n3");
+        // then
+        assertThat(new HashSet<>(actual.getEdges()), is(new HashSet<>(expected.getEdges())));
+    }
+
+    private Path file(final String content) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(US_ASCII));
+        return file;
+    }
+}
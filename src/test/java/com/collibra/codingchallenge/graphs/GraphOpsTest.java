@@ -1,13 +1,17 @@
 package com.collibra.codingchallenge.graphs;
 
+import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
 import edu.uci.ics.jung.graph.Graph;
 import org.junit.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import static com.collibra.codingchallenge.graphs.GraphOps.*;
 import static java.util.Arrays.asList;
+import static java.util.Comparator.naturalOrder;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -42,6 +46,32 @@ public final class GraphOpsTest {
     }
 
 
+    @Test
+    public void edges_share_the_interned_nodes_and_names() {
+        for (final Graph<Node, Edge> graph : asList(graph(), persistentGraph())) {
+            // given
+            addNode(graph, new String("a"));
+            addNode(graph, new String("b"));
+            final Node a = node(graph, "a");
+            // when
+            addEdge(graph, 1, new String("a"), new String("b"));
+            addEdge(graph, 2, new String("b"), new String("a"));
+            // then
+            for (final Edge edge : graph.getEdges()) {
+                assertThat(graph.getEndpoints(edge).getFirst() == node(graph, edge.start), is(true));
+                assertThat(graph.getEndpoints(edge).getSecond() == node(graph, edge.end), is(true));
+                assertThat(edge.start == node(graph, edge.start).name, is(true));
+            }
+            // when
+            removeNode(graph, "a");
+            addNode(graph, "a");
+            // then
+            assertThat(node(graph, "a") == a, is(false));
+            assertThat(node(graph, "a"), is(a));
+        }
+    }
+
+
     @Test
     public void adding_and_removing_edges() {
         // given
@@ -181,4 +211,37 @@ public final class GraphOpsTest {
         assertThat(nodes.isPresent(), is(true));
         assertThat(nodes, is(Optional.of(asList(madeleine, michael))));
     }
+
+    @Test
+    public void closer_than__agrees_with_full_dijkstra() {
+        // given
+        final Random random = new Random(11);
+        final Graph<Node, Edge> graph = graph();
+        final Graph<Node, Edge> compact = compactGraph();
+        for (int i = 0; i < 200; i++) {
+            addNode(graph, "n" + i);
+            addNode(compact, "n" + i);
+        }
+        for (int i = 0; i < 600; i++) {
+            final int weight = random.nextInt(20);
+            final String start = "n" + random.nextInt(200);
+            final String end = "n" + random.nextInt(200);
+            addEdge(graph, weight, start, end);
+            addEdge(compact, weight, start, end);
+        }
+        final DijkstraShortestPath<Node, Edge> dijkstra = new DijkstraShortestPath<>(graph, e -> e.weight);
+        for (int i = 0; i < 200; i++) {
+            final Node start = node("n" + i);
+            final int threshold = random.nextInt(60);
+            final List<String> expected = graph.getVertices().stream().filter(
+                    n -> !n.equals(start) && dijkstra.getDistance(start, n) != null && dijkstra.getDistance(start, n).intValue() < threshold
+            ).map(n -> n.name).sorted(naturalOrder()).collect(toList());
+            // when
+            final Optional<List<String>> nodes = closerThan(graph, threshold, start.name);
+            final Optional<List<String>> compactNodes = closerThan(compact, threshold, start.name);
+            // then
+            assertThat(nodes, is(Optional.of(expected)));
+            assertThat(compactNodes, is(Optional.of(expected)));
+        }
+    }
 }
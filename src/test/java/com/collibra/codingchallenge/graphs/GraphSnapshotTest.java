@@ -0,0 +1,111 @@
+package com.collibra.codingchallenge.graphs;
+
+import edu.uci.ics.jung.graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static com.collibra.codingchallenge.graphs.GraphOps.*;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class GraphSnapshotTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void snapshots_round_trip_every_kind_of_graph() throws IOException {
+        for (final Graph<Node, Edge> graph : Arrays.asList(graph(), persistentGraph(), compactGraph())) {
+            // given
+            for (final String node : Arrays.asList("a", "b", "gone", "c", "lonely")) {
+                addNode(graph, node);
+            }
+            addEdge(graph, 3, "a", "b");
+            addEdge(graph, 4, "a", "gone");
+            addEdge(graph, 1, "b", "c");
+            addEdge(graph, 1, "c", "a");
+            addEdge(graph, 2, "c", "c");
+            removeNode(graph, "gone");
+            final Path file = folder.newFile().toPath();
+            // when
+            GraphSnapshot.write(graph, file);
+            final GraphSnapshot snapshot = GraphSnapshot.read(file);
+            final CompactGraph compact = snapshot.map(1);
+            final Graph<Node, Edge> jung = snapshot.into(graph());
+            // then
+            assertThat(snapshot.nodes(), is(4));
+            assertThat(snapshot.edges(), is(4));
+            for (final Graph<Node, Edge> restored : Arrays.<Graph<Node, Edge>>asList(compact, jung)) {
+                assertThat(new HashSet<>(restored.getVertices()), is(new HashSet<>(graph.getVertices())));
+                assertThat(new HashSet<>(restored.getEdges()), is(new HashSet<>(graph.getEdges())));
+            }
+            assertThat(shortestPath(compact, "b", "a").get(), is(2));
+            assertThat(closerThan(compact, 5, "c").get(), is(Arrays.asList("a", "b")));
+        }
+    }
+
+    @Test
+    public void mapped_graphs_take_mutations_on_top_of_the_file() throws IOException {
+        // given
+        final Random random = new Random(15);
+        final Graph<Node, Edge> expected = graph();
+        for (int i = 0; i < 2_000; i++) {
+            final String start = "n" + random.nextInt(300);
+            final String end = "n" + random.nextInt(300);
+            addNode(expected, start);
+            addNode(expected, end);
+            addEdge(expected, random.nextInt(20), start, end);
+        }
+        final Path file = folder.newFile().toPath();
+        GraphSnapshot.write(expected, file);
+        final CompactGraph actual = GraphSnapshot.read(file).map(1);
+        // when
+        for (int i = 0; i < 500; i++) {
+            final String start = "n" + random.nextInt(400);
+            final String end = "n" + random.nextInt(400);
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertThat(removeNode(actual, start), is(removeNode(expected, start)));
+                    break;
+                case 1:
+                    assertThat(removeEdge(actual, start, end), is(removeEdge(expected, start, end)));
+                    break;
+                default:
+                    assertThat(addNode(actual, start), is(addNode(expected, start)));
+                    assertThat(addEdge(actual, 1, start, end), is(addEdge(expected, 1, start, end)));
+            }
+        }
+        // then
+        assertThat(actual.getVertexCount(), is(expected.getVertexCount()));
+        assertThat(new HashSet<>(actual.getVertices()), is(new HashSet<>(expected.getVertices())));
+        assertThat(new HashSet<>(actual.getEdges()), is(new HashSet<>(expected.getEdges())));
+        for (int i = 0; i < 100; i++) {
+            final String start = "n" + random.nextInt(400);
+            final String end = "n" + random.nextInt(400);
+            assertThat(shortestPath(actual, start, end), is(shortestPath(expected, start, end)));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejects_truncated_snapshots() throws IOException {
+        // given
+        final Graph<Node, Edge> graph = compactGraph();
+        addNode(graph, "a");
+        addNode(graph, "b");
+        addEdge(graph, 1, "a", "b");
+        final Path file = folder.newFile().toPath();
+        GraphSnapshot.write(graph, file);
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        // when
+        GraphSnapshot.read(file);
+    }
+}
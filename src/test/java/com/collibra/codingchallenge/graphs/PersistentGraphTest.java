@@ -0,0 +1,78 @@
+package com.collibra.codingchallenge.graphs;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.collibra.codingchallenge.graphs.GraphOps.*;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class PersistentGraphTest {
+
+    @Test
+    public void snapshot_is_not_affected_by_later_mutations() {
+        // given
+        final PersistentGraph graph = persistentGraph();
+        addNode(graph, "start");
+        addNode(graph, "end");
+        addEdge(graph, 5, "start", "end");
+        // when
+        final PersistentGraph snapshot = graph.snapshot();
+        removeEdge(graph, "start", "end");
+        removeNode(graph, "end");
+        // then
+        assertThat(containsNode(snapshot, "end"), is(true));
+        assertThat(containsEdge(snapshot, edge(5, "start", "end")), is(true));
+        assertThat(shortestPath(snapshot, "start", "end"), is(Optional.of(5)));
+        assertThat(containsNode(graph, "end"), is(false));
+        assertThat(graph.getEdgeCount(), is(0));
+        assertThat(snapshot.version() < graph.version(), is(true));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshot_cannot_be_modified() {
+        // given
+        final PersistentGraph snapshot = persistentGraph().snapshot();
+        // when
+        addNode(snapshot, "node");
+    }
+
+    @Test
+    public void removing_node_removes_its_edges() {
+        // given
+        final PersistentGraph graph = persistentGraph();
+        addNode(graph, "a");
+        addNode(graph, "b");
+        addNode(graph, "c");
+        addEdge(graph, 1, "a", "b");
+        addEdge(graph, 2, "b", "c");
+        addEdge(graph, 3, "b", "b");
+        // when
+        removeNode(graph, "b");
+        // then
+        assertThat(graph.getVertexCount(), is(2));
+        assertThat(graph.getEdgeCount(), is(0));
+        assertThat(graph.getOutEdges(node("a")).isEmpty(), is(true));
+        assertThat(graph.getInEdges(node("c")).isEmpty(), is(true));
+    }
+
+    @Test
+    public void closer_than__collibra_example() {
+        // given
+        final PersistentGraph graph = persistentGraph();
+        addNode(graph, "Mark");
+        addNode(graph, "Michael");
+        addNode(graph, "Madeleine");
+        addNode(graph, "Mufasa");
+        addEdge(graph, 5, "Mark", "Michael");
+        addEdge(graph, 2, "Michael", "Madeleine");
+        addEdge(graph, 8, "Madeleine", "Mufasa");
+        // when
+        final Optional<List<String>> nodes = closerThan(graph.snapshot(), 8, "Mark");
+        // then
+        assertThat(nodes, is(Optional.of(asList("Madeleine", "Michael"))));
+    }
+}
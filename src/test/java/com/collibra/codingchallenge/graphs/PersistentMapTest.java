@@ -0,0 +1,82 @@
+package com.collibra.codingchallenge.graphs;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public final class PersistentMapTest {
+
+    @Test
+    public void older_versions_are_not_affected_by_updates() {
+        // given
+        final PersistentMap<String, Integer> empty = PersistentMap.empty();
+        // when
+        final PersistentMap<String, Integer> one = empty.plus("one", 1);
+        final PersistentMap<String, Integer> two = one.plus("two", 2);
+        final PersistentMap<String, Integer> changed = two.plus("one", 11);
+        final PersistentMap<String, Integer> removed = changed.minus("two");
+        // then
+        assertThat(empty.size(), is(0));
+        assertThat(one.size(), is(1));
+        assertThat(one.get("one"), is(1));
+        assertThat(one.get("two"), is(nullValue()));
+        assertThat(two.size(), is(2));
+        assertThat(two.get("one"), is(1));
+        assertThat(changed.get("one"), is(11));
+        assertThat(removed.size(), is(1));
+        assertThat(removed.containsKey("two"), is(false));
+        assertThat(changed.containsKey("two"), is(true));
+    }
+
+    @Test
+    public void behaves_like_hash_map__including_hash_collisions() {
+        // given
+        final Random random = new Random(42);
+        final Map<Colliding, Integer> expected = new HashMap<>();
+        PersistentMap<Colliding, Integer> actual = PersistentMap.empty();
+        // when
+        for (int i = 0; i < 20_000; i++) {
+            final Colliding key = new Colliding(random.nextInt(2_000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.minus(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.plus(key, i);
+            }
+            // then
+            assertThat(actual.size(), is(expected.size()));
+        }
+        for (final Map.Entry<Colliding, Integer> entry : expected.entrySet()) {
+            assertThat(actual.get(entry.getKey()), is(entry.getValue()));
+        }
+        assertThat(new HashSet<>(actual.keys()), is(expected.keySet()));
+        assertThat(new HashSet<>(actual.values()), is(new HashSet<>(expected.values())));
+    }
+
+    private static final class Colliding {
+
+        private final int value;
+
+        Colliding(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Colliding && ((Colliding) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 7 == 0 ? 7 : value * 0x9E3779B9;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.collibra.codingchallenge.logging;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class AsyncLoggerTest {
+
+    private final List<String> written = new ArrayList<>();
+
+    @Test
+    public void events_are_written_in_order_with_arguments_as_they_were_logged() {
+        // given
+        final LogRing ring = new LogRing(8);
+        final Logger logger = new AsyncLogger(target(), ring, new Sampler(0, 1));
+        final StringBuilder line = new StringBuilder("first");
+        // when
+        logger.info("Client request was '{}'", line);
+        line.setLength(0);
+        line.append("second");
+        logger.debug("Client request was '{}'", line);
+        logger.warn("{} and {} and {}", 1, 2, 3);
+        logger.error("Failed", new IllegalStateException("boom"));
+        final List<String> before = new ArrayList<>(written);
+        ring.drain();
+        // then
+        assertThat(before.isEmpty(), is(true));
+        assertThat(written, contains(
+                "info Client request was 'first'",
+                "debug Client request was 'second'",
+                "warn 1 and 2 and 3",
+                "error Failed boom"));
+    }
+
+    @Test
+    public void full_buffer_drops_events_instead_of_blocking() {
+        // given
+        final LogRing ring = new LogRing(2);
+        final Logger logger = new AsyncLogger(target(), ring, new Sampler(0, 1));
+        // when
+        logger.info("one");
+        logger.info("two");
+        logger.info("three");
+        ring.drain();
+        logger.info("four");
+        ring.drain();
+        // then
+        assertThat(written, contains("info one", "info two", "info four"));
+    }
+
+    @Test
+    public void lines_beyond_the_rate_are_sampled_every_second() {
+        // given
+        final Sampler sampler = new Sampler(2, 3);
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        final List<Boolean> kept = new ArrayList<>();
+        // when
+        for (int i = 0; i < 7; i++) {
+            kept.add(sampler.keep(second));
+        }
+        kept.add(sampler.keep(2 * second));
+        // then
+        assertThat(kept, is(asList(true, true, true, false, false, true, false, true)));
+    }
+
+    private Logger target() {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class},
+                (proxy, method, arguments) -> {
+                    if (method.getName().startsWith("is")) {
+                        return true;
+                    }
+                    if (method.getName().equals("getName")) {
+                        return "target";
+                    }
+                    final Throwable thrown = (Throwable) arguments[1];
+                    written.add(method.getName() + " " + arguments[0] + (thrown == null ? "" : " " + thrown.getMessage()));
+                    return null;
+                });
+    }
+}
@@ -4,8 +4,17 @@ import com.collibra.codingchallenge.commands.*;
 import org.junit.Test;
 
 import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static com.collibra.codingchallenge.parsing.Regex.*;
+import static java.util.Arrays.asList;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -64,4 +73,110 @@ public final class GraphCommandParserTest {
         assertTrue(command.isPresent());
         assertThat(command.get(), is(new CloserThan(23, "node")));
     }
+
+    @Test
+    public void closer_than_from_many_nodes() {
+        // when
+        final Optional<GraphCommand> command = GraphCommandParser.parse("CLOSER THAN 23 a\tb  c-1");
+        // then
+        assertTrue(command.isPresent());
+        assertThat(command.get(), is(new BatchCloserThan(23, asList("a", "b", "c-1"))));
+    }
+
+    @Test
+    public void load_graph() {
+        // when
+        final Optional<GraphCommand> command = GraphCommandParser.parse("LOAD GRAPH /data/graph_1.txt");
+        // then
+        assertTrue(command.isPresent());
+        assertThat(command.get(), is(new LoadGraph("/data/graph_1.txt")));
+    }
+
+    @Test
+    public void keywords_are_case_insensitive_and_spaces_optional() {
+        // when
+        final Optional<GraphCommand> command = GraphCommandParser.parse("\tadd\tEdGeabc12 ");
+        // then
+        assertThat(command.get(), is(new AddEdge("abc", "1", 2)));
+    }
+
+    @Test
+    public void unsupported_commands_are_rejected() {
+        assertFalse(GraphCommandParser.parse("").isPresent());
+        assertFalse(GraphCommandParser.parse("ADD NODE").isPresent());
+        assertFalse(GraphCommandParser.parse("ADD NODE a b").isPresent());
+        assertFalse(GraphCommandParser.parse("ADD NODE a_b").isPresent());
+        assertFalse(GraphCommandParser.parse("CLOSER THAN a b").isPresent());
+        assertFalse(GraphCommandParser.parse("SHORTEST PATH a").isPresent());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void weight_overflow_is_an_error() {
+        GraphCommandParser.parse("CLOSER THAN 2147483648 a");
+    }
+
+    @Test
+    public void agrees_with_regular_expressions() {
+        // given
+        final String[] pieces = {
+                "ADD", "REMOVE", "NODE", "EDGE", "SHORTEST", "PATH", "CLOSER", "THAN", "add", "Node",
+                " ", " ", "\t", "\u000B", "a", "Z", "-", "1", "42", "2147483647", "2147483648", "_", "\u0131", "\u017F"
+        };
+        final Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            final StringBuilder request = new StringBuilder();
+            for (int j = random.nextInt(8); j >= 0; j--) {
+                request.append(pieces[random.nextInt(pieces.length)]);
+            }
+            // when
+            final String actual = outcome(() -> GraphCommandParser.parse(request.toString()));
+            final String expected = outcome(() -> withRegex(request.toString()));
+            // then
+            assertThat(request.toString(), actual, is(expected));
+        }
+    }
+
+    private static String outcome(final Supplier<Optional<GraphCommand>> parse) {
+        try {
+            return parse.get().toString();
+        } catch (final NumberFormatException e) {
+            return e.toString();
+        }
+    }
+
+    private static Optional<GraphCommand> withRegex(final String request) {
+        Matcher m = pattern("ADD" + s + "NODE" + s + NODE).matcher(request);
+        if (m.matches()) {
+            return Optional.of(new AddNode(m.group(1)));
+        }
+        m = pattern("ADD" + s + "EDGE" + s + NODE + s + NODE + s + WEIGHT).matcher(request);
+        if (m.matches()) {
+            return Optional.of(new AddEdge(m.group(1), m.group(2), Integer.parseInt(m.group(3))));
+        }
+        m = pattern("REMOVE" + s + "NODE" + s + NODE).matcher(request);
+        if (m.matches()) {
+            return Optional.of(new RemoveNode(m.group(1)));
+        }
+        m = pattern("REMOVE" + s + "EDGE" + s + NODE + s + NODE).matcher(request);
+        if (m.matches()) {
+            return Optional.of(new RemoveEdge(m.group(1), m.group(2)));
+        }
+        m = pattern("SHORTEST" + s + "PATH" + s + NODE + s + NODE).matcher(request);
+        if (m.matches()) {
+            return Optional.of(new ShortestPath(m.group(1), m.group(2)));
+        }
+        m = pattern("CLOSER" + s + "THAN" + s + WEIGHT + s + NODE).matcher(request);
+        if (m.matches()) {
+            return Optional.of(new CloserThan(Integer.parseInt(m.group(1)), m.group(2)));
+        }
+        m = pattern("CLOSER" + s + "THAN" + s + WEIGHT + s + "(" + NODE + "(?:\\s+" + NODE + ")+)").matcher(request);
+        if (m.matches()) {
+            return Optional.of(new BatchCloserThan(Integer.parseInt(m.group(1)), asList(m.group(2).split("\\s+"))));
+        }
+        return Optional.empty();
+    }
+
+    private static Pattern pattern(final String command) {
+        return Pattern.compile(s + command + s, CASE_INSENSITIVE);
+    }
 }